@@ -0,0 +1,61 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.mockito.Mockito;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Shared fixtures: the bundled language file and a stub Bukkit server.
+// Mocks are stubOnly, otherwise Mockito records every call and the heap grows for the whole run.
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static LanguageManager language(String language) {
+        String resource = "languages/" + language + ".yml";
+        try (InputStream in = BenchmarkSupport.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + resource + " on the classpath (is SolaceCore installed?)");
+            }
+            return new LanguageManager(YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Logger quietLogger(String name) {
+        Logger logger = Logger.getLogger("SolaceCore-bench-" + name);
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.OFF);
+        return logger;
+    }
+
+    // Bukkit.setServer prints build info through ServerBuildInfo, which needs a real server jar,
+    // so the singleton is set directly. Lookups (getPlayer, ...) on the mock return null.
+    static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Server server = Mockito.mock(Server.class, Mockito.withSettings().stubOnly());
+        Mockito.when(server.getLogger()).thenReturn(quietLogger("server"));
+        Mockito.when(server.getName()).thenReturn("Paper");
+        Mockito.when(server.getVersion()).thenReturn("git-Paper (MC: 1.21.8)");
+        Mockito.when(server.getBukkitVersion()).thenReturn("1.21.8-R0.1-SNAPSHOT");
+        try {
+            Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot install stub server", e);
+        }
+    }
+}
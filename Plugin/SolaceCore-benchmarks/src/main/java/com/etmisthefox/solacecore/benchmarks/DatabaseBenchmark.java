@@ -0,0 +1,115 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.solacecore.database.ConnectionPool;
+import com.etmisthefox.solacecore.database.Database;
+import com.etmisthefox.solacecore.models.Punishment;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Row mapping of punishment queries over large result sets, against H2 in MySQL mode.
+// H2 can't run the MySQL migrations (GET_LOCK, generated columns), so the tables are created here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    private static final String PLAYER = "Notch";
+    private static final String[] TYPES = {"warn", "kick", "tempmute", "tempban", "mute", "ban"};
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        Logger log = BenchmarkSupport.quietLogger("database");
+        String url = "jdbc:h2:mem:solacecore_" + rows + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=END,VALUE;DB_CLOSE_DELAY=-1";
+        ConnectionPool pool = new ConnectionPool(url, "sa", "", new ConnectionPool.Settings(1, 4, 5000, 2, 0), log);
+        pool.start();
+        database = new Database(pool, new YamlConfiguration(), log);
+
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE players (
+                       name VARCHAR(16) NOT NULL PRIMARY KEY,
+                       uuid VARCHAR(36),
+                       ipAddress VARCHAR(45),
+                       lastLogin TIMESTAMP
+                    )""");
+            statement.execute("""
+                    CREATE TABLE punishments (
+                       id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                       player_name VARCHAR(16) NOT NULL,
+                       reason VARCHAR(255),
+                       operator VARCHAR(16),
+                       punishmentType VARCHAR(16),
+                       start TIMESTAMP,
+                       end TIMESTAMP,
+                       duration BIGINT,
+                       isActive BOOLEAN,
+                       expires_at TIMESTAMP
+                    )""");
+            statement.execute("CREATE INDEX idx_punishments_player_active_type ON punishments(player_name, isActive, punishmentType)");
+            statement.execute("INSERT INTO players(name, uuid, ipAddress, lastLogin) VALUES ('" + PLAYER + "', '069a79f4-44e9-4726-a5be-fca90e38aaf5', '127.0.0.1', CURRENT_TIMESTAMP)");
+        }
+
+        String insert = "INSERT INTO punishments(player_name, reason, operator, punishmentType, start, end, duration, isActive, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection connection = database.getConnection(); PreparedStatement statement = connection.prepareStatement(insert)) {
+            connection.setAutoCommit(false);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < rows; i++) {
+                String type = TYPES[i % TYPES.length];
+                LocalDateTime start = now.minusHours(i);
+                boolean temporary = type.startsWith("temp");
+                LocalDateTime end = temporary ? start.plusDays(1) : null;
+                statement.setString(1, PLAYER);
+                statement.setString(2, "Reason number " + i);
+                statement.setString(3, "Console");
+                statement.setString(4, type);
+                statement.setTimestamp(5, Timestamp.valueOf(start));
+                statement.setTimestamp(6, end != null ? Timestamp.valueOf(end) : null);
+                statement.setObject(7, temporary ? 86400L : null);
+                // Only the newest few are still active, like on a real server
+                statement.setBoolean(8, i < 6 && !"kick".equals(type));
+                statement.setTimestamp(9, end != null ? Timestamp.valueOf(end) : null);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        database.closeConnection();
+    }
+
+    // History view (/warns, web panel): maps every row
+    @Benchmark
+    public List<Punishment> punishmentsByName() throws SQLException {
+        return database.getPunishmentsByName(PLAYER, 0, rows);
+    }
+
+    // Mute cache load / duplicate check: index lookup, few rows
+    @Benchmark
+    public List<Punishment> activePunishmentsByName() throws SQLException {
+        return database.getActivePunishmentsByName(PLAYER);
+    }
+}
@@ -0,0 +1,47 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import com.etmisthefox.solacecore.utils.DisconnectScreenUtil;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisconnectScreenBenchmark {
+
+    private String bannedTitle;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installServer();
+        LanguageManager lang = BenchmarkSupport.language("en");
+
+        // Same shape as the appeal_url section in the default config.yml
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("appeal_url.discord.name", "&1Discord");
+        config.set("appeal_url.discord.link", "&9https://discord.gg/example");
+        config.set("appeal_url.website.name", "&2Website");
+        config.set("appeal_url.website.link", "&ahttps://example.com/appeal");
+        DisconnectScreenUtil.init(config, lang);
+
+        bannedTitle = lang.getMessage("player_messages.banned");
+    }
+
+    // Pre-login rejection of a banned player
+    @Benchmark
+    public Component banScreen() {
+        return DisconnectScreenUtil.formatDisconnectScreen(false, bannedTitle, "Griefing spawn", "Console", null);
+    }
+
+    @Benchmark
+    public Component tempbanScreen() {
+        return DisconnectScreenUtil.formatDisconnectScreen(false, bannedTitle, "Griefing spawn", "Console", "6d 23h 59m");
+    }
+}
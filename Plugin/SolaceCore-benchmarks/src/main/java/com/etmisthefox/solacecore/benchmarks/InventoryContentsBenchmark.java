@@ -0,0 +1,67 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.inv.ClickableItem;
+import com.etmisthefox.inv.InventoryManager;
+import com.etmisthefox.inv.SmartInventory;
+import com.etmisthefox.inv.content.InventoryContents;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Filling a 6x9 menu the way MainMenu/PunishmentMenu do. With open=true the contents are attached
+// to a mocked top inventory, so this measures the bookkeeping, not the packet sent to the client.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryContentsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean open;
+
+    private InventoryContents contents;
+    private ClickableItem border;
+    private ClickableItem button;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installServer();
+        InventoryManager manager = Mockito.mock(InventoryManager.class, Mockito.withSettings().stubOnly());
+        SmartInventory inventory = SmartInventory.builder()
+                .id("benchmark")
+                .size(6, 9)
+                .manager(manager)
+                .provider((player, contents) -> { })
+                .build();
+        contents = new InventoryContents.Impl(inventory, UUID.randomUUID());
+        if (open) {
+            contents.attach(Mockito.mock(Inventory.class, Mockito.withSettings().stubOnly()));
+        }
+        border = ClickableItem.empty(Mockito.mock(ItemStack.class, Mockito.withSettings().stubOnly()));
+        button = ClickableItem.of(Mockito.mock(ItemStack.class, Mockito.withSettings().stubOnly()), event -> { });
+    }
+
+    @Benchmark
+    public InventoryContents fill() {
+        return contents.fill(border);
+    }
+
+    @Benchmark
+    public InventoryContents fillBorders() {
+        return contents.fillBorders(border);
+    }
+
+    @Benchmark
+    public InventoryContents setRow() {
+        for (int column = 0; column < 9; column++) {
+            contents.set(2, column, button);
+        }
+        return contents;
+    }
+}
@@ -0,0 +1,47 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanguageManagerBenchmark {
+
+    @Param({"en", "cs"})
+    public String language;
+
+    private LanguageManager lang;
+
+    @Setup
+    public void setup() {
+        lang = BenchmarkSupport.language(language);
+    }
+
+    @Benchmark
+    public String noPlaceholders() {
+        return lang.getMessage("errors.player_not_found");
+    }
+
+    @Benchmark
+    public Component cachedComponent() {
+        return lang.getComponent("gui.main_menu.close");
+    }
+
+    @Benchmark
+    public String twoPlaceholders() {
+        return lang.getMessage("punishment.ban_success", "player", "Notch", "reason", "Griefing spawn");
+    }
+
+    // Broadcast of a tempban: the longest placeholder list the plugin sends
+    @Benchmark
+    public String fourPlaceholders() {
+        return lang.getMessage("punishment.tempban_success", "operator", "Console", "player", "Notch", "time", "7d", "reason", "Griefing spawn");
+    }
+}
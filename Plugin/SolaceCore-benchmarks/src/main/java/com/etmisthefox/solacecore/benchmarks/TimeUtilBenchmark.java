@@ -0,0 +1,31 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.solacecore.utils.TimeUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUtilBenchmark {
+
+    @Param({"30s", "15m", "12h", "7d"})
+    public String input;
+
+    @Param({"59", "3600", "93784", "31536000"})
+    public long seconds;
+
+    @Benchmark
+    public long parseDuration() {
+        return TimeUtil.parseDuration(input);
+    }
+
+    @Benchmark
+    public String formatDuration() {
+        return TimeUtil.formatDuration(seconds);
+    }
+}
@@ -0,0 +1,87 @@
+package com.etmisthefox.solacecore.benchmarks;
+
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import com.etmisthefox.solacecore.websocket.ModCommandHandler;
+import com.etmisthefox.solacecore.websocket.ModeratorWebSocketServer;
+import com.etmisthefox.solacecore.websocket.MsgPack;
+import com.google.gson.JsonParser;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// JSON / MessagePack decoding, logging and dispatch as done by a dispatcher worker; the command handler itself is a no-op mock.
+// Replies go through the outbound queue to a mocked socket. The server is never started, so no socket is bound.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketMessageBenchmark {
+
+    private static final String BAN = "{\"action\":\"ban\",\"playerName\":\"Notch\",\"reason\":\"Griefing spawn\",\"moderator\":\"admin\"}";
+    private static final String TEMPMUTE = "{\"action\":\"tempmute\",\"playerName\":\"Notch\",\"reason\":\"Spamming chat with links to other servers\",\"moderator\":\"admin\",\"duration\":3600}";
+    private static final String MISSING_ACTION = "{\"playerName\":\"Notch\"}";
+    private static final ByteBuffer BAN_MSGPACK = ByteBuffer.wrap(MsgPack.encode(JsonParser.parseString(BAN))).asReadOnlyBuffer();
+
+    private ModeratorWebSocketServer server;
+    private WebSocket connection;
+
+    @Setup
+    public void setup() {
+        LanguageManager lang = BenchmarkSupport.language("en");
+        JavaPlugin plugin = Mockito.mock(JavaPlugin.class, Mockito.withSettings().stubOnly());
+        Mockito.when(plugin.getLogger()).thenReturn(BenchmarkSupport.quietLogger("websocket"));
+        // The drain thread may fall behind the benchmark loop; don't let that count as a slow client
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("websocket_outbound.max_queued_frames", Integer.MAX_VALUE);
+        Mockito.when(plugin.getConfig()).thenReturn(config);
+        ModCommandHandler handler = Mockito.mock(ModCommandHandler.class, Mockito.withSettings().stubOnly());
+        Mockito.when(handler.handleCommand(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(null));
+        server = new ModeratorWebSocketServer(0, plugin, handler, lang);
+        connection = Mockito.mock(WebSocket.class, Mockito.withSettings().stubOnly());
+        Mockito.when(connection.isOpen()).thenReturn(true);
+        Mockito.when(connection.getRemoteSocketAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 50000));
+        server.onOpen(connection, Mockito.mock(ClientHandshake.class, Mockito.withSettings().stubOnly()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.shutdownWorkers();
+    }
+
+    @Benchmark
+    public void ban() {
+        server.handleMessage(connection, BAN);
+    }
+
+    // Same command as ban(), as a binary frame of the MessagePack subprotocol
+    @Benchmark
+    public void banMsgPack() {
+        server.handleBinaryMessage(connection, BAN_MSGPACK.duplicate());
+    }
+
+    @Benchmark
+    public void tempmute() {
+        server.handleMessage(connection, TEMPMUTE);
+    }
+
+    // Error reply: serialises and queues a response
+    @Benchmark
+    public void missingAction() {
+        server.handleMessage(connection, MISSING_ACTION);
+    }
+
+    @Benchmark
+    public void sendSuccess() {
+        server.sendSuccess(connection, "ban", "Player Notch has been banned");
+    }
+}
@@ -1,5 +1,6 @@
 package com.etmisthefox.inv;
 
+import com.etmisthefox.inv.content.AsyncInventoryProvider;
 import com.etmisthefox.inv.content.InventoryContents;
 import com.etmisthefox.inv.opener.ChestInventoryOpener;
 import com.etmisthefox.inv.opener.InventoryOpener;
@@ -26,10 +27,14 @@ import org.bukkit.scheduler.BukkitRunnable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class InventoryManager {
@@ -40,6 +45,11 @@ public class InventoryManager {
     private Map<UUID, SmartInventory> inventories;
     private Map<UUID, InventoryContents> contents;
 
+    // Only inventories whose provider has an update interval, plus the ones marked dirty, are visited per tick
+    private final Map<UUID, ScheduledUpdate> scheduled = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private long tick;
+
     private List<InventoryOpener> defaultOpeners;
     private List<InventoryOpener> openers;
 
@@ -99,15 +109,40 @@ public class InventoryManager {
 
     protected void setInventory(Player p, SmartInventory inv) {
         if (inv == null)
-            this.inventories.remove(p.getUniqueId());
-        else
+            removeInventory(p.getUniqueId());
+        else {
             this.inventories.put(p.getUniqueId(), inv);
+            schedule(p.getUniqueId(), inv);
+        }
+    }
+
+    public void markDirty(UUID player) {
+        this.dirty.add(player);
+    }
+
+    private void schedule(UUID player, SmartInventory inv) {
+        int interval = inv.getProvider().updateInterval();
+        if (interval > 0)
+            this.scheduled.put(player, new ScheduledUpdate(inv, interval, tick + interval));
+        else
+            this.scheduled.remove(player);
+    }
+
+    private void removeInventory(UUID player) {
+        this.inventories.remove(player);
+        this.scheduled.remove(player);
+        this.dirty.remove(player);
     }
 
     public Optional<InventoryContents> getContents(Player p) {
         return Optional.ofNullable(this.contents.get(p.getUniqueId()));
     }
 
+    private static void detach(InventoryContents contents) {
+        if (contents != null)
+            contents.detach();
+    }
+
     protected void setContents(Player p, InventoryContents contents) {
         if (contents == null)
             this.contents.remove(p.getUniqueId());
@@ -115,6 +150,42 @@ public class InventoryManager {
             this.contents.put(p.getUniqueId(), contents);
     }
 
+    <T> void load(Player player, SmartInventory inv, InventoryContents invContents, AsyncInventoryProvider<T> provider) {
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<T> future;
+        try {
+            future = provider.load(player, invContents);
+        } catch (Exception e) {
+            handleInventoryOpenError(inv, player, e);
+            return;
+        }
+
+        future.whenComplete((data, error) -> {
+            if (!plugin.isEnabled())
+                return;
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Closed or replaced by another menu while loading
+                if (this.contents.get(uuid) != invContents || !invContents.isOpen())
+                    return;
+
+                Player current = Bukkit.getPlayer(uuid);
+                if (current == null)
+                    return;
+
+                try {
+                    if (error != null) {
+                        Bukkit.getLogger().log(Level.SEVERE, "Error while loading SmartInventory data:", error);
+                        provider.failed(current, invContents, error);
+                    } else
+                        provider.loaded(current, invContents, data);
+                } catch (Exception e) {
+                    handleInventoryUpdateError(inv, current, e);
+                }
+            });
+        });
+    }
+
     public void handleInventoryOpenError(SmartInventory inventory, Player player, Exception exception) {
         inventory.close(player);
 
@@ -127,7 +198,6 @@ public class InventoryManager {
         Bukkit.getLogger().log(Level.SEVERE, "Error while updating SmartInventory:", exception);
     }
 
-    @SuppressWarnings("unchecked")
     class InvListener implements Listener {
 
         @EventHandler(priority = EventPriority.LOW)
@@ -165,9 +235,7 @@ public class InventoryManager {
                 if (row >= inv.getRows() || column >= inv.getColumns())
                     return;
 
-                inv.getListeners().stream()
-                        .filter(listener -> listener.getType() == InventoryClickEvent.class)
-                        .forEach(listener -> ((InventoryListener<InventoryClickEvent>) listener).accept(e));
+                inv.fire(InventoryClickEvent.class, e);
 
                 contents.get(p.getUniqueId()).get(row, column).ifPresent(item -> item.run(e));
 
@@ -192,9 +260,7 @@ public class InventoryManager {
                 break;
             }
 
-            inv.getListeners().stream()
-                    .filter(listener -> listener.getType() == InventoryDragEvent.class)
-                    .forEach(listener -> ((InventoryListener<InventoryDragEvent>) listener).accept(e));
+            inv.fire(InventoryDragEvent.class, e);
         }
 
         @EventHandler(priority = EventPriority.LOW)
@@ -206,9 +272,7 @@ public class InventoryManager {
 
             SmartInventory inv = inventories.get(p.getUniqueId());
 
-            inv.getListeners().stream()
-                    .filter(listener -> listener.getType() == InventoryOpenEvent.class)
-                    .forEach(listener -> ((InventoryListener<InventoryOpenEvent>) listener).accept(e));
+            inv.fire(InventoryOpenEvent.class, e);
         }
 
         @EventHandler(priority = EventPriority.LOW)
@@ -220,15 +284,13 @@ public class InventoryManager {
 
             SmartInventory inv = inventories.get(p.getUniqueId());
 
-            inv.getListeners().stream()
-                    .filter(listener -> listener.getType() == InventoryCloseEvent.class)
-                    .forEach(listener -> ((InventoryListener<InventoryCloseEvent>) listener).accept(e));
+            inv.fire(InventoryCloseEvent.class, e);
 
             if (inv.isCloseable()) {
                 e.getInventory().clear();
 
-                inventories.remove(p.getUniqueId());
-                contents.remove(p.getUniqueId());
+                removeInventory(p.getUniqueId());
+                detach(contents.remove(p.getUniqueId()));
             } else
                 Bukkit.getScheduler().runTask(plugin, () -> p.openInventory(e.getInventory()));
         }
@@ -242,43 +304,83 @@ public class InventoryManager {
 
             SmartInventory inv = inventories.get(p.getUniqueId());
 
-            inv.getListeners().stream()
-                    .filter(listener -> listener.getType() == PlayerQuitEvent.class)
-                    .forEach(listener -> ((InventoryListener<PlayerQuitEvent>) listener).accept(e));
+            inv.fire(PlayerQuitEvent.class, e);
 
-            inventories.remove(p.getUniqueId());
-            contents.remove(p.getUniqueId());
+            removeInventory(p.getUniqueId());
+            detach(contents.remove(p.getUniqueId()));
         }
 
         @EventHandler(priority = EventPriority.LOW)
         public void onPluginDisable(PluginDisableEvent e) {
             new HashMap<>(inventories).forEach((player, inv) -> {
-                inv.getListeners().stream()
-                        .filter(listener -> listener.getType() == PluginDisableEvent.class)
-                        .forEach(listener -> ((InventoryListener<PluginDisableEvent>) listener).accept(e));
+                inv.fire(PluginDisableEvent.class, e);
 
                 inv.close(Bukkit.getPlayer(player));
             });
 
             inventories.clear();
+            scheduled.clear();
+            dirty.clear();
+            contents.values().forEach(InventoryContents::detach);
             contents.clear();
         }
 
     }
 
+    private static final class ScheduledUpdate {
+
+        private final SmartInventory inv;
+        private final int interval;
+        private long nextTick;
+
+        private ScheduledUpdate(SmartInventory inv, int interval, long nextTick) {
+            this.inv = inv;
+            this.interval = interval;
+            this.nextTick = nextTick;
+        }
+
+    }
+
     class InvTask extends BukkitRunnable {
 
         @Override
         public void run() {
-            new HashMap<>(inventories).forEach((uuid, inv) -> {
-                Player player = Bukkit.getPlayer(uuid);
+            long now = ++tick;
 
-                try {
-                    inv.getProvider().update(player, contents.get(uuid));
-                } catch (Exception e) {
-                    handleInventoryUpdateError(inv, player, e);
-                }
+            // Weakly consistent iteration, so closing an inventory from inside update() is fine
+            scheduled.forEach((uuid, update) -> {
+                if (update.nextTick > now)
+                    return;
+
+                update.nextTick = now + update.interval;
+                dirty.remove(uuid);
+                update(uuid, update.inv);
             });
+
+            if (dirty.isEmpty())
+                return;
+
+            for (Iterator<UUID> it = dirty.iterator(); it.hasNext(); ) {
+                UUID uuid = it.next();
+                it.remove();
+
+                SmartInventory inv = inventories.get(uuid);
+                if (inv != null)
+                    update(uuid, inv);
+            }
+        }
+
+        private void update(UUID uuid, SmartInventory inv) {
+            Player player = Bukkit.getPlayer(uuid);
+            InventoryContents invContents = contents.get(uuid);
+            if (player == null || invContents == null)
+                return;
+
+            try {
+                inv.getProvider().update(player, invContents);
+            } catch (Exception e) {
+                handleInventoryUpdateError(inv, player, e);
+            }
         }
 
     }
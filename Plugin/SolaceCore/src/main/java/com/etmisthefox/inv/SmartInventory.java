@@ -1,5 +1,6 @@
 package com.etmisthefox.inv;
 
+import com.etmisthefox.inv.content.AsyncInventoryProvider;
 import com.etmisthefox.inv.content.InventoryContents;
 import com.etmisthefox.inv.content.InventoryProvider;
 import com.etmisthefox.inv.opener.InventoryOpener;
@@ -10,7 +11,9 @@ import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @SuppressWarnings("unchecked")
@@ -26,6 +29,8 @@ public class SmartInventory {
     private SmartInventory parent;
 
     private List<InventoryListener<? extends Event>> listeners;
+    // Built once in Builder.build(), so dispatching an event is an array loop without streams
+    private Map<Class<?>, InventoryListener<? extends Event>[]> listenersByType;
     private InventoryManager manager;
 
     private SmartInventory(InventoryManager manager) {
@@ -37,13 +42,12 @@ public class SmartInventory {
         Optional<SmartInventory> oldInv = this.manager.getInventory(player);
 
         oldInv.ifPresent(inv -> {
-            inv.getListeners().stream()
-                    .filter(listener -> listener.getType() == InventoryCloseEvent.class)
-                    .forEach(listener -> ((InventoryListener<InventoryCloseEvent>) listener)
-                            .accept(new InventoryCloseEvent(player.getOpenInventory())));
+            if (inv.hasListeners(InventoryCloseEvent.class))
+                inv.fire(InventoryCloseEvent.class, new InventoryCloseEvent(player.getOpenInventory()));
 
             this.manager.setInventory(player, null);
         });
+        this.manager.getContents(player).ifPresent(InventoryContents::detach);
 
         InventoryContents contents = new InventoryContents.Impl(this, player.getUniqueId());
         contents.pagination().page(page);
@@ -63,6 +67,10 @@ public class SmartInventory {
             Inventory handle = opener.open(this, player);
 
             this.manager.setInventory(player, this);
+            contents.attach(handle);
+
+            if (this.provider instanceof AsyncInventoryProvider<?> async)
+                this.manager.load(player, this, contents, async);
 
             return handle;
         } catch (Exception e) {
@@ -71,14 +79,12 @@ public class SmartInventory {
         }
     }
 
-    @SuppressWarnings("unchecked")
     public void close(Player player) {
-        listeners.stream()
-                .filter(listener -> listener.getType() == InventoryCloseEvent.class)
-                .forEach(listener -> ((InventoryListener<InventoryCloseEvent>) listener)
-                        .accept(new InventoryCloseEvent(player.getOpenInventory())));
+        if (hasListeners(InventoryCloseEvent.class))
+            fire(InventoryCloseEvent.class, new InventoryCloseEvent(player.getOpenInventory()));
 
         this.manager.setInventory(player, null);
+        this.manager.getContents(player).ifPresent(InventoryContents::detach);
         player.closeInventory();
 
         this.manager.setContents(player, null);
@@ -100,6 +106,17 @@ public class SmartInventory {
 
     List<InventoryListener<? extends Event>> getListeners() { return listeners; }
 
+    boolean hasListeners(Class<? extends Event> type) { return listenersByType.containsKey(type); }
+
+    <T extends Event> void fire(Class<T> type, T event) {
+        InventoryListener<? extends Event>[] found = listenersByType.get(type);
+        if (found == null)
+            return;
+
+        for (InventoryListener<? extends Event> listener : found)
+            ((InventoryListener<T>) listener).accept(event);
+    }
+
     public static Builder builder() { return new Builder(); }
 
     public static final class Builder {
@@ -183,10 +200,21 @@ public class SmartInventory {
             inv.closeable = this.closeable;
             inv.provider = this.provider;
             inv.parent = this.parent;
-            inv.listeners = this.listeners;
+            inv.listeners = List.copyOf(this.listeners);
+            inv.listenersByType = indexListeners(inv.listeners);
 
             return inv;
         }
+
+        private static Map<Class<?>, InventoryListener<? extends Event>[]> indexListeners(List<InventoryListener<? extends Event>> listeners) {
+            Map<Class<?>, List<InventoryListener<? extends Event>>> grouped = new HashMap<>();
+            for (InventoryListener<? extends Event> listener : listeners)
+                grouped.computeIfAbsent(listener.getType(), type -> new ArrayList<>()).add(listener);
+
+            Map<Class<?>, InventoryListener<? extends Event>[]> index = new HashMap<>();
+            grouped.forEach((type, list) -> index.put(type, list.toArray(InventoryListener[]::new)));
+            return Map.copyOf(index);
+        }
     }
 
 }
@@ -0,0 +1,19 @@
+package com.etmisthefox.inv.content;
+
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.CompletableFuture;
+
+// Provider whose data is fetched off the main thread. init() only places placeholders,
+// the menu opens right away and loaded() fills the slots on the main thread once load() completes.
+// If the menu was closed or replaced in the meantime, the result is dropped.
+public interface AsyncInventoryProvider<T> extends InventoryProvider {
+
+    // Called on the main thread right after the menu is opened; do the slow work on another executor
+    CompletableFuture<T> load(Player player, InventoryContents contents);
+
+    void loaded(Player player, InventoryContents contents, T data);
+
+    default void failed(Player player, InventoryContents contents, Throwable error) {}
+
+}
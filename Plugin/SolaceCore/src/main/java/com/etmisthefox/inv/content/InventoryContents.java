@@ -2,8 +2,6 @@ package com.etmisthefox.inv.content;
 
 import com.etmisthefox.inv.ClickableItem;
 import com.etmisthefox.inv.SmartInventory;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
@@ -51,6 +49,14 @@ public interface InventoryContents {
 
     InventoryContents setProperty(String name, Object value);
 
+    // Top inventory the viewer currently has open, bound by SmartInventory/InventoryManager
+    void attach(Inventory handle);
+    void detach();
+    boolean isOpen();
+
+    // Asks for one provider update() on the next tick, safe to call from any thread
+    void markDirty();
+
     class Impl implements InventoryContents {
 
         private SmartInventory inv;
@@ -58,7 +64,10 @@ public interface InventoryContents {
 
         private ClickableItem[][] contents;
 
-        private Pagination pagination = new Pagination.Impl();
+        // null while the menu is not shown, writes then only go to the contents array
+        private volatile Inventory handle;
+
+        private Pagination pagination = new Pagination.Impl(this::markDirty);
         private Map<String, SlotIterator> iterators = new HashMap<>();
         private Map<String, Object> properties = new HashMap<>();
 
@@ -235,12 +244,23 @@ public interface InventoryContents {
             return this;
         }
 
+        @Override
+        public void attach(Inventory handle) { this.handle = handle; }
+
+        @Override
+        public void detach() { this.handle = null; }
+
+        @Override
+        public boolean isOpen() { return handle != null; }
+
+        @Override
+        public void markDirty() { inv.getManager().markDirty(player); }
+
         private void update(int row, int column, ItemStack item) {
-            Player currentPlayer = Bukkit.getPlayer(player);
-            if(!inv.getManager().getOpenedPlayers(inv).contains(currentPlayer))
+            Inventory topInventory = this.handle;
+            if(topInventory == null)
                 return;
 
-            Inventory topInventory = currentPlayer.getOpenInventory().getTopInventory();
             topInventory.setItem(inv.getColumns() * row + column, item);
         }
 
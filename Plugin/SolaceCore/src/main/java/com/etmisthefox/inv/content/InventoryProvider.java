@@ -4,7 +4,12 @@ import org.bukkit.entity.Player;
 
 public interface InventoryProvider {
 
+    int NO_UPDATES = 0;
+
     void init(Player player, InventoryContents contents);
     default void update(Player player, InventoryContents contents) {}
 
+    // Ticks between update() calls; NO_UPDATES means update() only runs after InventoryContents.markDirty()
+    default int updateInterval() { return NO_UPDATES; }
+
 }
@@ -3,9 +3,19 @@ package com.etmisthefox.inv.content;
 import com.etmisthefox.inv.ClickableItem;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface Pagination {
 
+    // Loads one page of items, e.g. with LIMIT/OFFSET; may complete on any thread
+    @FunctionalInterface
+    interface PageLoader {
+        CompletableFuture<ClickableItem[]> load(int offset, int limit);
+    }
+
     ClickableItem[] getPageItems();
 
     int getPage();
@@ -24,19 +34,98 @@ public interface Pagination {
     Pagination setItems(ClickableItem... items);
     Pagination setItemsPerPage(int itemsPerPage);
 
+    // Lazy mode: only the current page and the one after it are loaded. totalItems usually comes from a COUNT query.
+    // Until a page arrives getPageItems() returns an empty array; the contents are then marked dirty
+    // so the provider's update() can render it.
+    Pagination setItems(int totalItems, PageLoader loader);
+    boolean isPageLoaded();
+
 
     class Impl implements Pagination {
 
+        private static final ClickableItem[] EMPTY = new ClickableItem[0];
+        // Current page, its neighbours and a little history
+        private static final int CACHED_PAGES = 4;
+
         private int currentPage;
 
-        private ClickableItem[] items = new ClickableItem[0];
+        private ClickableItem[] items = EMPTY;
         private int itemsPerPage = 5;
 
+        private final Runnable onPageLoaded;
+        private PageLoader loader;
+        private int totalItems;
+        private final Map<Integer, ClickableItem[]> pages = new LinkedHashMap<>(CACHED_PAGES + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ClickableItem[]> eldest) {
+                return size() > CACHED_PAGES;
+            }
+        };
+        private final Map<Integer, CompletableFuture<ClickableItem[]>> loading = new HashMap<>();
+
+        public Impl() { this(() -> {}); }
+
+        public Impl(Runnable onPageLoaded) {
+            this.onPageLoaded = onPageLoaded;
+        }
+
         @Override
         public ClickableItem[] getPageItems() {
-            return Arrays.copyOfRange(items,
-                    currentPage * itemsPerPage,
-                    (currentPage + 1) * itemsPerPage);
+            if (loader == null)
+                return Arrays.copyOfRange(items,
+                        currentPage * itemsPerPage,
+                        (currentPage + 1) * itemsPerPage);
+
+            ClickableItem[] page;
+            synchronized (pages) {
+                page = pages.get(currentPage);
+            }
+            if (page == null)
+                request(currentPage);
+            if (!isLast())
+                request(currentPage + 1);
+
+            return page != null ? page : EMPTY;
+        }
+
+        @Override
+        public boolean isPageLoaded() {
+            if (loader == null)
+                return true;
+
+            synchronized (pages) {
+                return pages.containsKey(currentPage);
+            }
+        }
+
+        private void request(int page) {
+            PageLoader pageLoader = this.loader;
+            CompletableFuture<ClickableItem[]> future;
+            synchronized (pages) {
+                if (pages.containsKey(page) || loading.containsKey(page))
+                    return;
+
+                future = new CompletableFuture<>();
+                loading.put(page, future);
+            }
+
+            pageLoader.load(page * itemsPerPage, itemsPerPage).whenComplete((result, error) -> {
+                synchronized (pages) {
+                    // Loader or page size changed meanwhile
+                    if (loading.get(page) != future || this.loader != pageLoader)
+                        return;
+
+                    loading.remove(page);
+                    if (error == null)
+                        pages.put(page, result != null ? result : EMPTY);
+                }
+                if (error == null)
+                    onPageLoaded.run();
+            });
+        }
+
+        private int itemCount() {
+            return loader != null ? totalItems : items.length;
         }
 
         @Override
@@ -57,7 +146,7 @@ public interface Pagination {
 
         @Override
         public boolean isLast() {
-            int pageCount = (int) Math.ceil((double) this.items.length / this.itemsPerPage);
+            int pageCount = (int) Math.ceil((double) itemCount() / this.itemsPerPage);
             return this.currentPage >= pageCount - 1;
         }
 
@@ -85,7 +174,8 @@ public interface Pagination {
 
         @Override
         public Pagination last() {
-            this.currentPage = this.items.length / this.itemsPerPage;
+            int pageCount = (int) Math.ceil((double) itemCount() / this.itemsPerPage);
+            this.currentPage = Math.max(0, pageCount - 1);
             return this;
         }
 
@@ -104,15 +194,34 @@ public interface Pagination {
         @Override
         public Pagination setItems(ClickableItem... items) {
             this.items = items;
+            this.loader = null;
+            clearPages();
             return this;
         }
 
         @Override
         public Pagination setItemsPerPage(int itemsPerPage) {
             this.itemsPerPage = itemsPerPage;
+            clearPages();
             return this;
         }
 
+        @Override
+        public Pagination setItems(int totalItems, PageLoader loader) {
+            this.items = EMPTY;
+            this.totalItems = totalItems;
+            this.loader = loader;
+            clearPages();
+            return this;
+        }
+
+        private void clearPages() {
+            synchronized (pages) {
+                pages.clear();
+                loading.clear();
+            }
+        }
+
     }
 
 }
@@ -1,5 +1,8 @@
 package com.etmisthefox.solacecore;
 
+import com.etmisthefox.solacecore.cache.BanIndex;
+import com.etmisthefox.solacecore.cache.CacheSync;
+import com.etmisthefox.solacecore.cache.MuteCache;
 import com.etmisthefox.solacecore.commands.*;
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.websocket.ModeratorWebSocketServer;
@@ -7,41 +10,87 @@ import com.etmisthefox.solacecore.websocket.ModCommandHandler;
 import com.etmisthefox.inv.InventoryManager;
 import com.etmisthefox.solacecore.listeners.ChatListener;
 import com.etmisthefox.solacecore.listeners.ConnectionListener;
+import com.etmisthefox.solacecore.inventories.MenuItems;
 import com.etmisthefox.solacecore.managers.LanguageManager;
+import com.etmisthefox.solacecore.managers.StartupOrchestrator;
 import com.etmisthefox.solacecore.utils.ChatInputUtil;
 import com.etmisthefox.solacecore.utils.DisconnectScreenUtil;
 import com.etmisthefox.solacecore.discord.DiscordManager;
 import org.bukkit.command.CommandExecutor;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 public final class SolaceCore extends JavaPlugin {
 
     private Database database;
-    private ModeratorWebSocketServer wsServer;
+    private volatile ModeratorWebSocketServer wsServer;
     private LanguageManager lang;
     private DiscordManager discordManager;
+    private MuteCache muteCache;
+    private BanIndex banIndex;
+    private CacheSync cacheSync;
+    private StartupOrchestrator startup;
 
     @Override
     public void onEnable() {
+        long enableStarted = System.nanoTime();
         saveDefaultConfig();
         InventoryManager inventoryManager = new InventoryManager(this);
         inventoryManager.init();
 
         lang = new LanguageManager(this, getConfig().getString("language", "en"));
         DisconnectScreenUtil.init(getConfig(), lang);
+        MenuItems.init(lang);
+
+        // Database, WebSocket and Discord start in parallel off the main thread; see StartupOrchestrator
+        startup = new StartupOrchestrator(getLogger(), getConfig().getInt("startup.threads", 4));
+        Executor mainThread = getServer().getScheduler().getMainThreadExecutor(this);
 
         database = new Database(this);
-        try {
-            database.initializeDatabase();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            getLogger().severe("Database error...");
-            getServer().shutdown();
-            return; // Zastavit další inicializaci
+        banIndex = new BanIndex(database, getLogger());
+        database.addChangeListener(banIndex);
+        muteCache = new MuteCache(database);
+        database.addChangeListener(muteCache);
+        cacheSync = new CacheSync(banIndex, muteCache, getConfig().getConfigurationSection("database.cache_sync"), getLogger());
+        // Po /reload už mohou být hráči online - jejich mute načteme, až bude databáze připravená
+        List<Player> online = List.copyOf(getServer().getOnlinePlayers());
+
+        startup.stage("database", database::initializeDatabase);
+        startup.stage("ban-index", banIndex::load, "database");
+        startup.stage("mute-cache", () -> {
+            for (Player player : online) {
+                muteCache.load(player.getUniqueId(), player.getName());
+            }
+        }, "database");
+        startup.stage("cache-sync", cacheSync::start, "ban-index", "mute-cache");
+        startup.stage("websocket", this::startWebSocket, "database");
+        if (getConfig().getBoolean("discord_bot.enabled", false)) {
+            discordManager = new DiscordManager(this, database, lang);
+            startup.stage("discord", discordManager::connect);
+            startup.stage("discord-profile", discordManager::updateProfile, "discord");
+            startup.stage("discord-commands", discordManager::registerCommands, "discord", "database");
         }
+        startup.stage("commands", mainThread, () -> registerCommands(inventoryManager), "ban-index");
 
+        startup.get("ban-index").exceptionally(e -> {
+            getLogger().severe("Database error...");
+            mainThread.execute(() -> getServer().shutdown());
+            return null;
+        });
+
+        // Logins only need the schema and the ban index; until then they wait (and are refused after the timeout)
+        long loginTimeoutMs = getConfig().getLong("startup.login_wait_seconds", 10) * 1000;
+        getServer().getPluginManager().registerEvents(new ConnectionListener(database, banIndex, muteCache, lang, startup.get("ban-index"), loginTimeoutMs), this);
+        getServer().getPluginManager().registerEvents(new ChatListener(muteCache, lang), this);
+
+        startup.record("enable (main)", enableStarted);
+        startup.whenAllDone();
+    }
+
+    private void startWebSocket() {
         // Inicializovat WebSocket server
         int wsPort = getConfig().getInt("websocket-port", 8080);
         getLogger().info("=======================================================");
@@ -51,24 +100,20 @@ public final class SolaceCore extends JavaPlugin {
         getLogger().info("=======================================================");
 
         ModCommandHandler commandHandler = new ModCommandHandler(database, lang, this);
-        wsServer = new ModeratorWebSocketServer(wsPort, this, commandHandler, lang);
+        ModeratorWebSocketServer server = new ModeratorWebSocketServer(wsPort, this, commandHandler, lang);
         try {
-            wsServer.start();
+            server.start();
+            wsServer = server;
             getLogger().info("WebSocket server STARTED on port " + wsPort);
         } catch (Exception e) {
             getLogger().severe("Failed to start WebSocket server: " + e.getMessage());
             e.printStackTrace();
+            server.shutdownWorkers();
         }
+    }
 
-        if (getConfig().getBoolean("discord_bot.enabled", false)) {
-            try {
-                discordManager = new DiscordManager(this, database, lang);
-                discordManager.initialize();
-            } catch (InterruptedException e) {
-                getLogger().log(java.util.logging.Level.SEVERE, "Failed to initialize Discord bot", e);
-            }
-        }
-
+    // Before this runs the commands fall back to the usage message from plugin.yml
+    private void registerCommands(InventoryManager inventoryManager) {
         registerCommand("kick", new KickCommand(database, lang));
         registerCommand("ban", new BanCommand(database, lang));
         registerCommand("ipban", new IpbanCommand(database, lang));
@@ -81,9 +126,7 @@ public final class SolaceCore extends JavaPlugin {
         registerCommand("unmute", new UnmuteCommand(database, lang));
         registerCommand("menu", new MenuCommand(database, lang, this, inventoryManager));
         registerCommand("warns", new WarnsCommand(database, lang));
-
-        getServer().getPluginManager().registerEvents(new ConnectionListener(database, lang), this);
-        getServer().getPluginManager().registerEvents(new ChatListener(database, lang), this);
+        registerCommand("solacecore", new SolaceCoreCommand(database, lang, () -> wsServer, discordManager));
     }
 
     private void registerCommand(String name, CommandExecutor executor) {
@@ -99,18 +142,28 @@ public final class SolaceCore extends JavaPlugin {
     @Override
     public void onDisable() {
         ChatInputUtil.cancelAll();
-        if (database != null) {
-            database.closeConnection();
+        // Disabled while still starting: don't start anything new
+        if (startup != null) {
+            startup.shutdown();
+        }
+        if (cacheSync != null) {
+            cacheSync.shutdown();
         }
+        // Web commands still queued need the database, so stop them first
         if (wsServer != null) {
             try {
                 wsServer.stop();
             } catch (Exception e) {
                 getLogger().warning("Error stopping WebSocket server: " + e.getMessage());
             }
+            wsServer.shutdownWorkers();
         }
+        // Discord commands run on their own executor and need the database too; web commands may still log to Discord
         if (discordManager != null) {
             discordManager.shutdown();
         }
+        if (database != null) {
+            database.closeConnection();
+        }
     }
 }
@@ -0,0 +1,345 @@
+package com.etmisthefox.solacecore.cache;
+
+import com.etmisthefox.solacecore.database.Database;
+import com.etmisthefox.solacecore.database.PunishmentChangeListener;
+import com.etmisthefox.solacecore.models.ActiveBan;
+import com.etmisthefox.solacecore.models.PlayerRecord;
+import com.etmisthefox.solacecore.models.Punishment;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// In-memory view of all active bans, so pre-login decisions need no database I/O.
+// Reads are lock-free; the rare writes synchronize on the index. Changes made by this server arrive as
+// PunishmentChangeListener callbacks, changes made by other servers on the same database through sync() and reload().
+public final class BanIndex implements PunishmentChangeListener {
+
+    private final Database database;
+    private final Logger log;
+
+    // ban / tempban keyed by player name and by the banned player's UUID
+    private final Map<String, List<Punishment>> bansByName = new ConcurrentHashMap<>();
+    private final Map<UUID, List<Punishment>> bansByUuid = new ConcurrentHashMap<>();
+
+    // ipban / tempipban follow the banned player's last known IP
+    private final Map<String, List<Punishment>> ipBansByName = new ConcurrentHashMap<>();
+    private final Map<String, String> ipByBannedName = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> bannedNamesByIp = new ConcurrentHashMap<>();
+
+    private final Map<String, UUID> uuidByName = new ConcurrentHashMap<>();
+
+    // Highest punishment id read from the database, sync() only asks for newer rows
+    private volatile int lastSeenId;
+
+    public BanIndex(Database database, Logger log) {
+        this.database = database;
+        this.log = log;
+    }
+
+    // Blocking: replaces the index with the current database state
+    public synchronized void load() throws SQLException {
+        List<ActiveBan> bans = database.getActiveBans();
+
+        bansByName.clear();
+        bansByUuid.clear();
+        ipBansByName.clear();
+        ipByBannedName.clear();
+        bannedNamesByIp.clear();
+        uuidByName.clear();
+
+        for (ActiveBan ban : bans) {
+            add(ban.punishment(), ban.player());
+        }
+        lastSeenId = maxId(bans, 0);
+        log.info("Ban index loaded (" + bans.size() + " active bans).");
+    }
+
+    // Blocking: adds bans stored since the last check (by any server). When the number of active bans in the
+    // database still differs, a ban was lifted elsewhere and the index is reloaded.
+    public void sync() throws SQLException {
+        List<ActiveBan> added = database.getActiveBans(lastSeenId);
+        synchronized (this) {
+            for (ActiveBan ban : added) {
+                add(ban.punishment(), ban.player());
+            }
+            lastSeenId = maxId(added, lastSeenId);
+        }
+        if (database.countActiveBans() != size()) {
+            reload();
+        }
+    }
+
+    // Blocking: brings the index to the database state in place, so logins never see a half-empty index
+    public void reload() throws SQLException {
+        // Bans stored after this id may be missing from the snapshot, they are kept
+        int boundary = database.getMaxPunishmentId();
+        List<ActiveBan> bans = database.getActiveBans();
+        Set<Integer> ids = new HashSet<>();
+        for (ActiveBan ban : bans) {
+            ids.add(ban.punishment().getId());
+        }
+        synchronized (this) {
+            for (ActiveBan ban : bans) {
+                add(ban.punishment(), ban.player());
+            }
+            for (String key : retain(bansByName, ids, boundary)) {
+                if (!ipBansByName.containsKey(key)) {
+                    uuidByName.remove(key);
+                }
+            }
+            retain(bansByUuid, ids, boundary);
+            for (String key : retain(ipBansByName, ids, boundary)) {
+                moveIp(key, null);
+            }
+            lastSeenId = maxId(bans, lastSeenId);
+        }
+    }
+
+    // Distinct active bans in the index, comparable with Database.countActiveBans()
+    public synchronized int size() {
+        Set<Integer> ids = new HashSet<>();
+        bansByName.values().forEach(list -> list.forEach(p -> ids.add(p.getId())));
+        ipBansByName.values().forEach(list -> list.forEach(p -> ids.add(p.getId())));
+        return ids.size();
+    }
+
+    private static int maxId(List<ActiveBan> bans, int current) {
+        int max = current;
+        for (ActiveBan ban : bans) {
+            max = Math.max(max, ban.punishment().getId());
+        }
+        return max;
+    }
+
+    // Called for every connection attempt: IP bans follow the player to the address they log in from
+    public void recordLogin(String playerName, String ipAddress) {
+        String key = key(playerName);
+        if (!ipBansByName.containsKey(key)) {
+            return;
+        }
+        synchronized (this) {
+            moveIp(key, ipAddress);
+        }
+    }
+
+    // Returns the ban that should block this login, or null. IP bans take precedence over name bans.
+    public Punishment findBan(String playerName, UUID uuid, String ipAddress) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Punishment found = null;
+        Set<String> namesOnIp = bannedNamesByIp.get(ipAddress);
+        if (namesOnIp != null) {
+            for (String bannedName : namesOnIp) {
+                found = firstActive(ipBansByName.get(bannedName), now);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+
+        found = firstActive(bansByName.get(key(playerName)), now);
+        if (found == null && uuid != null) {
+            found = firstActive(bansByUuid.get(uuid), now);
+        }
+        return found;
+    }
+
+    @Override
+    public void onPunishmentCreated(Punishment punishment) {
+        if (!punishment.getIsActive() || kind(punishment.getPunishmentType()) == Kind.NONE) {
+            return;
+        }
+        PlayerRecord player = null;
+        try {
+            player = database.getPlayerByName(punishment.getPlayerName());
+        } catch (SQLException e) {
+            log.log(Level.WARNING, "Failed to resolve identity of banned player " + punishment.getPlayerName(), e);
+        }
+        synchronized (this) {
+            add(punishment, player);
+        }
+    }
+
+    @Override
+    public synchronized void onPunishmentRevoked(String playerName, String punishmentType) {
+        Kind kind = kind(punishmentType);
+        if (kind == Kind.NONE) {
+            return;
+        }
+        String key = key(playerName);
+        if (kind == Kind.NAME) {
+            List<Punishment> remaining = removeType(bansByName, key, punishmentType);
+            UUID uuid = uuidByName.get(key);
+            if (uuid != null) {
+                removeType(bansByUuid, uuid, punishmentType);
+            }
+            if (remaining.isEmpty() && !ipBansByName.containsKey(key)) {
+                uuidByName.remove(key);
+            }
+        } else {
+            List<Punishment> remaining = removeType(ipBansByName, key, punishmentType);
+            if (remaining.isEmpty()) {
+                moveIp(key, null);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onPunishmentExpired(Punishment punishment) {
+        Kind kind = kind(punishment.getPunishmentType());
+        if (kind == Kind.NONE) {
+            return;
+        }
+        String key = key(punishment.getPlayerName());
+        if (kind == Kind.NAME) {
+            List<Punishment> remaining = removeId(bansByName, key, punishment.getId());
+            UUID uuid = uuidByName.get(key);
+            if (uuid != null) {
+                removeId(bansByUuid, uuid, punishment.getId());
+            }
+            if (remaining.isEmpty() && !ipBansByName.containsKey(key)) {
+                uuidByName.remove(key);
+            }
+        } else {
+            List<Punishment> remaining = removeId(ipBansByName, key, punishment.getId());
+            if (remaining.isEmpty()) {
+                moveIp(key, null);
+            }
+        }
+    }
+
+    private void add(Punishment punishment, PlayerRecord player) {
+        String key = key(punishment.getPlayerName());
+        Kind kind = kind(punishment.getPunishmentType());
+        if (kind == Kind.NAME) {
+            append(bansByName, key, punishment);
+            UUID uuid = player != null ? parseUuid(player.uuid()) : null;
+            if (uuid != null) {
+                uuidByName.put(key, uuid);
+                append(bansByUuid, uuid, punishment);
+            }
+        } else if (kind == Kind.IP) {
+            append(ipBansByName, key, punishment);
+            if (player != null && player.ipAddress() != null) {
+                moveIp(key, player.ipAddress());
+            }
+        }
+    }
+
+    private void moveIp(String key, String ipAddress) {
+        String previous = ipAddress != null ? ipByBannedName.put(key, ipAddress) : ipByBannedName.remove(key);
+        if (previous != null && !previous.equals(ipAddress)) {
+            bannedNamesByIp.computeIfPresent(previous, (ip, names) -> {
+                Set<String> updated = new HashSet<>(names);
+                updated.remove(key);
+                return updated.isEmpty() ? null : Set.copyOf(updated);
+            });
+        }
+        if (ipAddress != null) {
+            bannedNamesByIp.compute(ipAddress, (ip, names) -> {
+                Set<String> updated = names != null ? new HashSet<>(names) : new HashSet<>();
+                updated.add(key);
+                return Set.copyOf(updated);
+            });
+        }
+    }
+
+    // A ban already indexed (same id) is kept as is, sync() and reload() see this server's own bans again
+    private static <K> void append(Map<K, List<Punishment>> map, K key, Punishment punishment) {
+        map.compute(key, (k, list) -> {
+            if (list != null && list.stream().anyMatch(p -> p.getId() == punishment.getId())) {
+                return list;
+            }
+            List<Punishment> updated = list != null ? new ArrayList<>(list) : new ArrayList<>();
+            updated.add(punishment);
+            return List.copyOf(updated);
+        });
+    }
+
+    private static <K> List<Punishment> removeType(Map<K, List<Punishment>> map, K key, String punishmentType) {
+        List<Punishment> remaining = map.computeIfPresent(key, (k, list) -> {
+            List<Punishment> updated = list.stream()
+                    .filter(p -> !punishmentType.equalsIgnoreCase(p.getPunishmentType()))
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        });
+        return remaining != null ? remaining : List.of();
+    }
+
+    private static <K> List<Punishment> removeId(Map<K, List<Punishment>> map, K key, int id) {
+        List<Punishment> remaining = map.computeIfPresent(key, (k, list) -> {
+            List<Punishment> updated = list.stream()
+                    .filter(p -> p.getId() != id)
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        });
+        return remaining != null ? remaining : List.of();
+    }
+
+    // Drops punishments up to boundary whose id is not in ids; returns the keys left without any
+    private static <K> List<K> retain(Map<K, List<Punishment>> map, Set<Integer> ids, int boundary) {
+        List<K> emptied = new ArrayList<>();
+        for (K key : List.copyOf(map.keySet())) {
+            List<Punishment> remaining = map.computeIfPresent(key, (k, list) -> {
+                List<Punishment> updated = list.stream()
+                        .filter(p -> p.getId() > boundary || ids.contains(p.getId()))
+                        .toList();
+                return updated.isEmpty() ? null : updated;
+            });
+            if (remaining == null) {
+                emptied.add(key);
+            }
+        }
+        return emptied;
+    }
+
+    private static Punishment firstActive(List<Punishment> punishments, LocalDateTime now) {
+        if (punishments == null) {
+            return null;
+        }
+        for (Punishment punishment : punishments) {
+            if (!punishment.isExpired(now)) {
+                return punishment;
+            }
+        }
+        return null;
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private enum Kind { NAME, IP, NONE }
+
+    private static Kind kind(String punishmentType) {
+        if (punishmentType == null) {
+            return Kind.NONE;
+        }
+        return switch (punishmentType.toLowerCase(Locale.ROOT)) {
+            case "ban", "tempban" -> Kind.NAME;
+            case "ipban", "tempipban" -> Kind.IP;
+            default -> Kind.NONE;
+        };
+    }
+
+    private static String key(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,79 @@
+package com.etmisthefox.solacecore.cache;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Keeps BanIndex and MuteCache in line with writes from other servers sharing the database (or the web API).
+// Every refresh_seconds: new bans by id, a ban count check and the mutes of online players; every
+// full_reload_seconds the whole ban index is reconciled. With enabled: false the caches only follow
+// this server's own changes, which is enough when no other server writes to the database.
+public final class CacheSync {
+
+    private final BanIndex banIndex;
+    private final MuteCache muteCache;
+    private final Logger log;
+    private final boolean enabled;
+    private final long refreshSeconds;
+    private final long fullReloadSeconds;
+    private ScheduledExecutorService timer;
+
+    public CacheSync(BanIndex banIndex, MuteCache muteCache, ConfigurationSection config, Logger log) {
+        this.banIndex = banIndex;
+        this.muteCache = muteCache;
+        this.log = log;
+        this.enabled = config == null || config.getBoolean("enabled", true);
+        this.refreshSeconds = Math.max(1, config != null ? config.getLong("refresh_seconds", 10) : 10);
+        this.fullReloadSeconds = Math.max(refreshSeconds, config != null ? config.getLong("full_reload_seconds", 300) : 300);
+    }
+
+    public synchronized void start() {
+        if (!enabled) {
+            log.info("Cache sync disabled, bans and mutes from other servers apply after a restart.");
+            return;
+        }
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SolaceCore-CacheSync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        timer.scheduleWithFixedDelay(this::fullReload, fullReloadSeconds, fullReloadSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    private void refresh() {
+        try {
+            banIndex.sync();
+            muteCache.sync();
+        } catch (SQLException e) {
+            log.log(Level.WARNING, "Failed to refresh ban and mute caches, will retry", e);
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "Unexpected error while refreshing ban and mute caches", e);
+        }
+    }
+
+    private void fullReload() {
+        try {
+            banIndex.reload();
+        } catch (SQLException e) {
+            log.log(Level.WARNING, "Failed to reload the ban index, will retry", e);
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "Unexpected error while reloading the ban index", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.etmisthefox.solacecore.cache;
+
+import com.etmisthefox.solacecore.database.Database;
+import com.etmisthefox.solacecore.database.PunishmentChangeListener;
+import com.etmisthefox.solacecore.models.Punishment;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Active mutes of online players, so the chat path never touches the database.
+// This server's changes arrive as callbacks, sync() picks up mutes and unmutes written by other servers.
+public final class MuteCache implements PunishmentChangeListener {
+
+    // Names per refresh query
+    private static final int SYNC_CHUNK = 500;
+
+    private final Database database;
+    private final Map<UUID, List<Punishment>> mutes = new ConcurrentHashMap<>();
+    private final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
+    private final Map<UUID, String> namesByUuid = new ConcurrentHashMap<>();
+
+    public MuteCache(Database database) {
+        this.database = database;
+    }
+
+    // Blocking: call off the main thread (pre-login or async task)
+    public void load(UUID uuid, String playerName) throws SQLException {
+        uuidsByName.put(key(playerName), uuid);
+        namesByUuid.put(uuid, playerName);
+
+        List<Punishment> loaded = new ArrayList<>();
+        for (Punishment punishment : database.getActivePunishmentsByName(playerName)) {
+            if (isMute(punishment.getPunishmentType())) {
+                loaded.add(punishment);
+            }
+        }
+
+        // Keep mutes that were written while the query was running
+        mutes.merge(uuid, List.copyOf(loaded), (current, fresh) -> {
+            List<Punishment> merged = new ArrayList<>(fresh);
+            for (Punishment punishment : current) {
+                if (merged.stream().noneMatch(p -> p.getId() == punishment.getId())) {
+                    merged.add(punishment);
+                }
+            }
+            return List.copyOf(merged);
+        });
+    }
+
+    public void drop(UUID uuid, String playerName) {
+        mutes.remove(uuid);
+        uuidsByName.remove(key(playerName), uuid);
+        namesByUuid.remove(uuid, playerName);
+    }
+
+    public void clear() {
+        mutes.clear();
+        uuidsByName.clear();
+        namesByUuid.clear();
+    }
+
+    // Blocking: re-reads the active mutes of every cached player, a few queries in total
+    public void sync() throws SQLException {
+        Map<UUID, String> players = Map.copyOf(namesByUuid);
+        if (players.isEmpty()) {
+            return;
+        }
+        // Mutes stored after this id may be missing from the result, the cached ones are kept
+        int boundary = database.getMaxPunishmentId();
+        List<String> names = List.copyOf(players.values());
+        Map<String, List<Punishment>> fresh = new HashMap<>();
+        for (int from = 0; from < names.size(); from += SYNC_CHUNK) {
+            for (Punishment punishment : database.getActiveMutes(names.subList(from, Math.min(names.size(), from + SYNC_CHUNK)))) {
+                fresh.computeIfAbsent(key(punishment.getPlayerName()), k -> new ArrayList<>()).add(punishment);
+            }
+        }
+
+        for (Map.Entry<UUID, String> player : players.entrySet()) {
+            List<Punishment> stored = fresh.getOrDefault(key(player.getValue()), List.of());
+            // computeIfPresent: a player who left meanwhile is not cached again
+            mutes.computeIfPresent(player.getKey(), (id, current) -> {
+                List<Punishment> merged = new ArrayList<>(stored);
+                for (Punishment punishment : current) {
+                    if (punishment.getId() > boundary && merged.stream().noneMatch(p -> p.getId() == punishment.getId())) {
+                        merged.add(punishment);
+                    }
+                }
+                return List.copyOf(merged);
+            });
+        }
+    }
+
+    // Returns the mute currently in force, evicting any that already expired
+    public Punishment getActiveMute(UUID uuid) {
+        List<Punishment> current = mutes.get(uuid);
+        if (current == null || current.isEmpty()) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Punishment active = null;
+        boolean expired = false;
+        for (Punishment punishment : current) {
+            if (punishment.isExpired(now)) {
+                expired = true;
+            } else if (active == null) {
+                active = punishment;
+            }
+        }
+        if (expired) {
+            mutes.computeIfPresent(uuid, (id, list) -> list.stream().filter(p -> !p.isExpired(now)).toList());
+        }
+        return active;
+    }
+
+    @Override
+    public void onPunishmentCreated(Punishment punishment) {
+        if (!punishment.getIsActive() || !isMute(punishment.getPunishmentType())) {
+            return;
+        }
+        UUID uuid = uuidsByName.get(key(punishment.getPlayerName()));
+        if (uuid == null) {
+            return;
+        }
+        mutes.compute(uuid, (id, list) -> {
+            List<Punishment> updated = list != null ? new ArrayList<>(list) : new ArrayList<>();
+            updated.add(punishment);
+            return List.copyOf(updated);
+        });
+    }
+
+    @Override
+    public void onPunishmentRevoked(String playerName, String punishmentType) {
+        if (!isMute(punishmentType)) {
+            return;
+        }
+        UUID uuid = uuidsByName.get(key(playerName));
+        if (uuid == null) {
+            return;
+        }
+        mutes.computeIfPresent(uuid, (id, list) -> list.stream()
+                .filter(p -> !punishmentType.equalsIgnoreCase(p.getPunishmentType()))
+                .toList());
+    }
+
+    @Override
+    public void onPunishmentExpired(Punishment punishment) {
+        if (!isMute(punishment.getPunishmentType())) {
+            return;
+        }
+        UUID uuid = uuidsByName.get(key(punishment.getPlayerName()));
+        if (uuid == null) {
+            return;
+        }
+        mutes.computeIfPresent(uuid, (id, list) -> list.stream()
+                .filter(p -> p.getId() != punishment.getId())
+                .toList());
+    }
+
+    private static boolean isMute(String punishmentType) {
+        return "mute".equalsIgnoreCase(punishmentType) || "tempmute".equalsIgnoreCase(punishmentType);
+    }
+
+    private static String key(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,110 @@
+package com.etmisthefox.solacecore.commands;
+
+import com.etmisthefox.solacecore.database.ConnectionPool;
+import com.etmisthefox.solacecore.database.Database;
+import com.etmisthefox.solacecore.discord.DiscordCommandHandler;
+import com.etmisthefox.solacecore.discord.DiscordManager;
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import com.etmisthefox.solacecore.websocket.ModeratorWebSocketServer;
+import com.etmisthefox.solacecore.websocket.OutboundQueues;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+// /solacecore stats - runtime counters for checking the plugin's health on a live server
+// /solacecore reload - re-reads the language file, GUI items are rebuilt by their reload listener
+public final class SolaceCoreCommand implements CommandExecutor {
+
+    private final Database database;
+    private final LanguageManager lang;
+    // null while the web server is not running
+    private final Supplier<ModeratorWebSocketServer> webSocket;
+    // null when the Discord bot is disabled
+    private final DiscordManager discord;
+
+    public SolaceCoreCommand(Database database, LanguageManager lang, Supplier<ModeratorWebSocketServer> webSocket, DiscordManager discord) {
+        this.database = database;
+        this.lang = lang;
+        this.webSocket = webSocket;
+        this.discord = discord;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        String sub = args.length > 0 ? args[0].toLowerCase() : "";
+        switch (sub) {
+            case "stats" -> {
+                if (checkPermission(sender, "solacecore.stats")) {
+                    stats(sender);
+                }
+            }
+            case "reload" -> {
+                if (checkPermission(sender, "solacecore.reload")) {
+                    lang.reload();
+                    sender.sendMessage(lang.getMessage("reload.done"));
+                }
+            }
+            default -> sender.sendMessage(lang.getMessage("usage.solacecore"));
+        }
+        return true;
+    }
+
+    private boolean checkPermission(CommandSender sender, String permission) {
+        if (sender.hasPermission(permission)) {
+            return true;
+        }
+        sender.sendMessage(lang.getMessage("errors.no_permission"));
+        return false;
+    }
+
+    private void stats(CommandSender sender) {
+        sender.sendMessage(lang.getMessage("stats.header"));
+
+        ConnectionPool.Metrics pool = database.getPoolMetrics();
+        sender.sendMessage(lang.getMessage("stats.pool",
+                "active", String.valueOf(pool.active()),
+                "idle", String.valueOf(pool.idle()),
+                "total", String.valueOf(pool.total()),
+                "waiting", String.valueOf(pool.waiting()),
+                "borrowed", String.valueOf(pool.borrowed()),
+                "avg_wait", String.format("%.1f", pool.averageWaitMs()),
+                "max_wait", String.valueOf(pool.maxWaitMs()),
+                "timeouts", String.valueOf(pool.timeouts()),
+                "leaks", String.valueOf(pool.leaks())));
+
+        ModeratorWebSocketServer server = webSocket.get();
+        if (server != null) {
+            OutboundQueues.Metrics outbound = server.getOutboundMetrics();
+            sender.sendMessage(lang.getMessage("stats.websocket",
+                    "clients", String.valueOf(outbound.clients()),
+                    "queued", String.valueOf(outbound.queued()),
+                    "max_depth", String.valueOf(outbound.maxDepth()),
+                    "sent", String.valueOf(outbound.sent()),
+                    "coalesced", String.valueOf(outbound.coalesced()),
+                    "dropped", String.valueOf(outbound.dropped()),
+                    "slow", String.valueOf(outbound.slowDisconnects())));
+        } else {
+            sender.sendMessage(lang.getMessage("stats.websocket_off"));
+        }
+
+        Map<String, DiscordCommandHandler.CommandMetrics> commands = discord != null ? discord.getCommandMetrics() : Map.of();
+        if (discord == null) {
+            sender.sendMessage(lang.getMessage("stats.discord_off"));
+        } else if (commands.isEmpty()) {
+            sender.sendMessage(lang.getMessage("stats.discord_none"));
+        }
+        for (Map.Entry<String, DiscordCommandHandler.CommandMetrics> entry : commands.entrySet()) {
+            DiscordCommandHandler.CommandMetrics metrics = entry.getValue();
+            sender.sendMessage(lang.getMessage("stats.discord_command",
+                    "command", entry.getKey(),
+                    "count", String.valueOf(metrics.count()),
+                    "failures", String.valueOf(metrics.failures()),
+                    "avg", String.format("%.1f", metrics.averageMs()),
+                    "max", String.valueOf(metrics.maxMs())));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.etmisthefox.solacecore.commands;
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.managers.LanguageManager;
 import com.etmisthefox.solacecore.models.Punishment;
+import com.etmisthefox.solacecore.models.PunishmentQuery;
 import com.etmisthefox.solacecore.utils.PaginationUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -12,15 +13,19 @@ import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.SQLException;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public final class WarnsCommand implements CommandExecutor {
 
     private static final int PAGE_SIZE = 20;
+    private static final String NEXT = "next";
+    private static final String PREVIOUS = "prev";
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("mm:HH dd-MM-yyyy");
 
     private final Database database;
@@ -49,34 +54,31 @@ public final class WarnsCommand implements CommandExecutor {
         }
         if (page < 1) page = 1;
 
-        List<Punishment> punishments;
+        // Filter only warnings, newest first - filtering, ordering and paging happen in SQL
+        PunishmentQuery query = PunishmentQuery.byPlayer(targetName, List.of("warn"), PAGE_SIZE);
+        PaginationUtil.PageInfo info;
+        List<Punishment> pageItems;
         try {
-            punishments = database.getPunishmentsByName(targetName);
+            int total = database.countPunishments(query);
+            if (total == 0) {
+                sender.sendMessage(Component.text(lang.getMessage("warns.none", "player", targetName), NamedTextColor.GRAY));
+                return true;
+            }
+            info = PaginationUtil.paginate(page, total, PAGE_SIZE);
+
+            // The footer passes a cursor next to the page number; a typed page number without one uses OFFSET
+            pageItems = List.of();
+            if (args.length >= 3 && info.page == page) {
+                pageItems = loadFromCursor(query, args[2]);
+            }
+            if (pageItems.isEmpty()) {
+                pageItems = database.findPunishments(query.offset(info.fromIndex));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return true;
         }
 
-        // Filter only warnings
-        List<Punishment> warnings = punishments.stream()
-                .filter(p -> p.getPunishmentType() != null && p.getPunishmentType().equalsIgnoreCase("warn"))
-                .collect(Collectors.toList());
-
-        if (warnings.isEmpty()) {
-            sender.sendMessage(Component.text(lang.getMessage("warns.none", "player", targetName), NamedTextColor.GRAY));
-            return true;
-        }
-
-        // Sort by start desc (nulls last), then id desc as tie-breaker
-        warnings.sort(Comparator
-                .comparing(Punishment::getStart, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparingInt(Punishment::getId)
-                .reversed());
-
-        // Compute pagination via util
-        PaginationUtil.PageInfo info = PaginationUtil.paginate(page, warnings.size(), PAGE_SIZE);
-        List<Punishment> pageItems = PaginationUtil.pageItems(warnings, info);
-
         // Header using util
         Component header = PaginationUtil.buildHeader(
                 lang.getMessage("warns.header_prefix"),
@@ -102,10 +104,11 @@ public final class WarnsCommand implements CommandExecutor {
             sender.sendMessage(line);
         }
 
-        // Footer navigation via util
+        // Footer navigation via util, each arrow carries the cursor of the row next to the page it opens
+        String base = "/" + label + " " + targetName + " ";
         Component footer = PaginationUtil.buildFooter(
-                info,
-                p -> "/" + label + " " + targetName + " " + p,
+                info.page > 1 && !pageItems.isEmpty() ? base + (info.page - 1) + " " + cursorToken(PREVIOUS, pageItems.get(0)) : null,
+                info.page < info.totalPages && !pageItems.isEmpty() ? base + (info.page + 1) + " " + cursorToken(NEXT, pageItems.get(pageItems.size() - 1)) : null,
                 lang.getMessage("warns.previous_page"),
                 lang.getMessage("warns.next_page")
         );
@@ -115,4 +118,32 @@ public final class WarnsCommand implements CommandExecutor {
 
         return true;
     }
+
+    // "next:<start epoch>:<id>" continues after that row, "prev:..." walks back from it; "-" stands for a null start
+    private List<Punishment> loadFromCursor(PunishmentQuery query, String token) throws SQLException {
+        String[] parts = token.split(":");
+        if (parts.length != 3 || (!parts[0].equals(NEXT) && !parts[0].equals(PREVIOUS))) {
+            return List.of();
+        }
+        PunishmentQuery.Cursor cursor;
+        try {
+            LocalDateTime start = parts[1].equals("-") ? null : LocalDateTime.ofEpochSecond(Long.parseLong(parts[1]), 0, ZoneOffset.UTC);
+            cursor = new PunishmentQuery.Cursor(start, Integer.parseInt(parts[2]));
+        } catch (NumberFormatException | DateTimeException e) {
+            return List.of();
+        }
+
+        if (parts[0].equals(NEXT)) {
+            return database.findPunishments(query.after(cursor));
+        }
+        List<Punishment> previous = new ArrayList<>(database.findPunishments(query.reversed().after(cursor)));
+        Collections.reverse(previous);
+        return previous;
+    }
+
+    private static String cursorToken(String direction, Punishment punishment) {
+        LocalDateTime start = punishment.getStart();
+        String startPart = start != null ? String.valueOf(start.toEpochSecond(ZoneOffset.UTC)) : "-";
+        return direction + ":" + startPart + ":" + punishment.getId();
+    }
 }
@@ -0,0 +1,300 @@
+package com.etmisthefox.solacecore.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool.
+ * <p>
+ * Connections are handed out as proxies; calling {@code close()} on the proxy returns the
+ * physical connection to the pool instead of closing it. Borrowing blocks for at most
+ * {@link Settings#connectionTimeoutMs()} when all {@link Settings#maxSize()} connections are in use.
+ */
+public final class ConnectionPool {
+
+    public record Settings(int minSize, int maxSize, long connectionTimeoutMs, int validationTimeoutSeconds, long leakDetectionThresholdMs) {
+
+        public Settings {
+            if (maxSize < 1) maxSize = 1;
+            if (minSize < 0) minSize = 0;
+            if (minSize > maxSize) minSize = maxSize;
+            if (connectionTimeoutMs < 0) connectionTimeoutMs = 0;
+            if (validationTimeoutSeconds < 1) validationTimeoutSeconds = 1;
+        }
+    }
+
+    public record Metrics(int active, int idle, int total, int waiting, long borrowed, long timeouts, long leaks, double averageWaitMs, long maxWaitMs) { }
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Settings settings;
+    private final Logger log;
+
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Lease> leases = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String password, Settings settings, Logger log) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.settings = settings;
+        this.log = log;
+        this.permits = new Semaphore(settings.maxSize(), true);
+    }
+
+    // Opens the minimum number of connections and starts leak detection / idle top-up
+    public synchronized void start() throws SQLException {
+        if (housekeeper != null) {
+            return;
+        }
+        for (int i = total.get(); i < settings.minSize(); i++) {
+            idle.offer(openPhysical());
+        }
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SolaceCore-DB-Housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 5, 5, TimeUnit.SECONDS);
+        log.info("Database pool started (min " + settings.minSize() + ", max " + settings.maxSize() + ").");
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long waitStart = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(settings.connectionTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + settings.connectionTimeoutMs() + " ms waiting for a database connection ("
+                        + leases.size() + "/" + settings.maxSize() + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        try {
+            Connection physical = takeValidConnection();
+            borrowed.incrementAndGet();
+            Connection proxy = (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new PooledHandler(physical));
+            leases.put(proxy, new Lease(System.currentTimeMillis(), Thread.currentThread().getName(),
+                    settings.leakDetectionThresholdMs() > 0 ? new Exception("Connection borrowed here") : null));
+            return proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public Metrics getMetrics() {
+        long count = borrowed.get();
+        double averageWaitMs = count == 0 ? 0 : totalWaitNanos.get() / (double) count / 1_000_000d;
+        return new Metrics(leases.size(), idle.size(), total.get(), waiting.get(), count, timeouts.get(), leaks.get(),
+                averageWaitMs, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public synchronized void shutdown() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+            housekeeper = null;
+        }
+        if (!leases.isEmpty()) {
+            log.warning("Closing database pool while " + leases.size() + " connection(s) are still in use.");
+        }
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            closePhysical(connection);
+        }
+    }
+
+    private Connection takeValidConnection() throws SQLException {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (isUsable(connection)) {
+                return connection;
+            }
+            closePhysical(connection);
+        }
+        return openPhysical();
+    }
+
+    private boolean isUsable(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(settings.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, user, password);
+        total.incrementAndGet();
+        return connection;
+    }
+
+    private void closePhysical(Connection connection) {
+        total.decrementAndGet();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.log(Level.FINE, "Failed to close pooled connection", e);
+        }
+    }
+
+    private void release(Connection proxy, Connection physical) {
+        leases.remove(proxy);
+        try {
+            if (closed.get() || physical.isClosed()) {
+                closePhysical(physical);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            // LIFO keeps the hottest connections in use and lets the rest age out
+            idle.offerFirst(physical);
+        } catch (SQLException e) {
+            closePhysical(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void housekeep() {
+        try {
+            long threshold = settings.leakDetectionThresholdMs();
+            if (threshold > 0) {
+                long now = System.currentTimeMillis();
+                for (Lease lease : leases.values()) {
+                    if (!lease.reported && now - lease.borrowedAt > threshold) {
+                        lease.reported = true;
+                        leaks.incrementAndGet();
+                        log.log(Level.WARNING, "Possible database connection leak: connection held by thread '" + lease.thread
+                                + "' for " + (now - lease.borrowedAt) + " ms", lease.origin);
+                    }
+                }
+            }
+            while (!closed.get() && total.get() < settings.minSize()) {
+                idle.offerLast(openPhysical());
+            }
+        } catch (SQLException e) {
+            log.warning("Failed to top up database pool: " + e.getMessage());
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Database pool housekeeping failed", e);
+        }
+    }
+
+    private static final class Lease {
+        private final long borrowedAt;
+        private final String thread;
+        private final Exception origin;
+        private volatile boolean reported;
+
+        private Lease(long borrowedAt, String thread, Exception origin) {
+            this.borrowedAt = borrowedAt;
+            this.thread = thread;
+            this.origin = origin;
+        }
+    }
+
+    private final class PooledHandler implements InvocationHandler {
+
+        private final Connection physical;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private PooledHandler(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (returned.compareAndSet(false, true)) {
+                        release((Connection) proxy, physical);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned.get() || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physical + "]";
+                }
+                default -> {
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,98 +1,142 @@
 package com.etmisthefox.solacecore.database;
 
 import com.etmisthefox.solacecore.SolaceCore;
+import com.etmisthefox.solacecore.database.migration.MigrationRunner;
+import com.etmisthefox.solacecore.models.ActiveBan;
+import com.etmisthefox.solacecore.models.PlayerRecord;
 import com.etmisthefox.solacecore.models.Punishment;
+import com.etmisthefox.solacecore.models.PunishmentQuery;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public final class Database {
 
-    private final SolaceCore plugin;
-    private Connection connection;
+    private final ConnectionPool pool;
+    private final PlayerUpsertQueue playerUpserts;
+    private final ExpiryService expiryService;
+    private final ExecutorService executor;
+    private final int migrationLockTimeoutSeconds;
+    private final long migrationBatchPauseMs;
     private final Logger log;
+    private final List<PunishmentChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Binds the current time; permanent punishments have no expires_at
+    private static final String NOT_EXPIRED = "(expires_at IS NULL OR expires_at > ?)";
 
     public Database(SolaceCore plugin) {
-        this.plugin = plugin;
-        this.log = plugin.getLogger();
+        this(createPool(plugin.getConfig(), plugin.getLogger()), plugin.getConfig(), plugin.getLogger());
     }
 
-    public synchronized Connection getConnection() throws SQLException {
-
-        if (connection != null && !connection.isClosed()) {
-            return connection;
-        }
-
-        FileConfiguration fc = plugin.getConfig();
+    // Without a plugin instance, e.g. for the benchmark module; settings are read from the "database" keys of fc
+    public Database(ConnectionPool pool, ConfigurationSection fc, Logger log) {
+        this.log = log;
+        this.pool = pool;
+        // One worker per pooled connection; more threads would only queue on borrow()
+        AtomicInteger workerId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(pool.getSettings().maxSize(), r -> {
+            Thread thread = new Thread(r, "SolaceCore-DB-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.playerUpserts = new PlayerUpsertQueue(this, log,
+                fc.getInt("database.player_upserts.batch_size", 100),
+                fc.getLong("database.player_upserts.flush_interval_ms", 1000));
+        this.expiryService = new ExpiryService(this, log,
+                fc.getInt("database.expiry.batch_size", 500),
+                fc.getLong("database.expiry.safety_sweep_seconds", 60));
+        addChangeListener(expiryService);
+        this.migrationLockTimeoutSeconds = fc.getInt("database.migration.lock_timeout_seconds", 60);
+        this.migrationBatchPauseMs = fc.getLong("database.migration.batch_pause_ms", 50);
+    }
 
-        String url = "jdbc:mysql://" + fc.getString("database.ip_address") + "/" + fc.getString("database.database_name");
+    private static ConnectionPool createPool(FileConfiguration fc, Logger log) {
+        String url = "jdbc:mysql://" + fc.getString("database.ip_address") + ":" + fc.getString("database.port", "3306") + "/" + fc.getString("database.database_name") + "?rewriteBatchedStatements=true";
         String user = fc.getString("database.user");
         String password = fc.getString("database.password");
-        connection = DriverManager.getConnection(url, user, password);
-        log.info("Connected to the database.");
-        return connection;
+        ConnectionPool.Settings settings = new ConnectionPool.Settings(
+                fc.getInt("database.pool.min_size", 2),
+                fc.getInt("database.pool.max_size", 10),
+                fc.getLong("database.pool.connection_timeout_ms", 5000),
+                fc.getInt("database.pool.validation_timeout_seconds", 2),
+                fc.getLong("database.pool.leak_detection_threshold_ms", 10000)
+        );
+        return new ConnectionPool(url, user, password, settings, log);
+    }
+
+    // Borrowed connection must be closed by the caller (try-with-resources), which returns it to the pool
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    // Off-main-thread executor for callers that compose database work with CompletableFuture
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public ConnectionPool.Metrics getPoolMetrics() {
+        return pool.getMetrics();
+    }
+
+    public PlayerUpsertQueue getPlayerUpserts() {
+        return playerUpserts;
+    }
+
+    public ExpiryService getExpiryService() {
+        return expiryService;
+    }
+
+    public void addChangeListener(PunishmentChangeListener listener) {
+        changeListeners.add(listener);
     }
 
     public void initializeDatabase() throws SQLException {
-        // Tabulka players
-        try (Statement playersTableStatement = getConnection().createStatement()) {
-            String playersTableSQL = """
-                    CREATE TABLE IF NOT EXISTS `players` (
-                       `name` VARCHAR(16) NOT NULL,
-                       `uuid` VARCHAR(36) UNIQUE,
-                       `ipAddress` VARCHAR(45) DEFAULT NULL,
-                       `lastLogin` DATETIME DEFAULT NULL,
-                       PRIMARY KEY (`name`),
-                       INDEX (`uuid`),
-                       INDEX (`ipAddress`)
-                    );
-                    """;
-            playersTableStatement.execute(playersTableSQL);
-            log.info("Players table successfully created.");
-        }
-
-        // Tabulka punishments
-        try (Statement punishmentsTableStatement = getConnection().createStatement()) {
-            String punishmentsTableSQL = """
-                    CREATE TABLE IF NOT EXISTS `punishments` (
-                       `id` INT NOT NULL AUTO_INCREMENT,
-                       `player_name` VARCHAR(16) NOT NULL,
-                       `reason` VARCHAR(255) DEFAULT NULL,
-                       `operator` VARCHAR(16) DEFAULT NULL,
-                       `punishmentType` VARCHAR(16) DEFAULT NULL,
-                       `start` DATETIME DEFAULT NULL,
-                       `end` DATETIME DEFAULT NULL,
-                       `duration` BIGINT DEFAULT NULL,
-                       `isActive` BOOLEAN DEFAULT NULL,
-                       PRIMARY KEY (`id`),
-                       INDEX (`player_name`),
-                       CONSTRAINT `fk_punishments_player_name` FOREIGN KEY (`player_name`) REFERENCES `players`(`name`) ON DELETE CASCADE ON UPDATE CASCADE
-                    );
-                    """;
-            punishmentsTableStatement.execute(punishmentsTableSQL);
-            log.info("Punishments table successfully created (FK player_name -> players.name).");
-        }
-    }
-
-    public synchronized void closeConnection() {
-        if (this.connection != null) {
-            try {
-                this.connection.close();
-                this.connection = null;
-                log.info("Database connection closed.");
-            } catch (SQLException e) {
-                log.severe("Failed to close database connection: " + e.getMessage());
+        pool.start();
+        playerUpserts.start();
+        log.info("Connected to the database.");
+
+        new MigrationRunner(this, log, migrationLockTimeoutSeconds, migrationBatchPauseMs).migrate();
+
+        expiryService.start();
+    }
+
+    public void closeConnection() {
+        // Let punishments that are already being written finish before the pool goes away
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warning("Database tasks still running on shutdown, abandoning them.");
+                executor.shutdownNow();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
         }
+        expiryService.shutdown();
+        playerUpserts.shutdown();
+        pool.shutdown();
+        log.info("Database connection pool closed.");
     }
 
     public void addPlayer(String playerName, String uuid, String ipAddress) throws SQLException {
         String sql = "INSERT INTO players(name, uuid, ipAddress, lastLogin) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE ipAddress = VALUES(ipAddress), lastLogin = VALUES(lastLogin)";
-        try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerName);
             statement.setString(2, uuid);
             statement.setString(3, ipAddress);
@@ -101,9 +145,33 @@ public final class Database {
         }
     }
 
+    // Login path: the row is written later in a batch by PlayerUpsertQueue
+    public void queuePlayerUpsert(String playerName, String uuid, String ipAddress) {
+        playerUpserts.enqueue(playerName, uuid, ipAddress);
+    }
+
+    public void addPlayers(List<PlayerRecord> players) throws SQLException {
+        String sql = "INSERT INTO players(name, uuid, ipAddress, lastLogin) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE ipAddress = VALUES(ipAddress), lastLogin = VALUES(lastLogin)";
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (PlayerRecord player : players) {
+                statement.setString(1, player.name());
+                statement.setString(2, player.uuid());
+                statement.setString(3, player.ipAddress());
+                statement.setTimestamp(4, Timestamp.valueOf(player.lastLogin()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
     public boolean playerExistsByName(String playerName) throws SQLException {
+        if (playerUpserts.isPending(playerName)) {
+            return true;
+        }
         String sql = "SELECT 1 FROM players WHERE name = ? LIMIT 1";
-        try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, playerName);
             try (ResultSet results = statement.executeQuery()) {
                 return results.next();
@@ -111,10 +179,24 @@ public final class Database {
         }
     }
 
+    public PlayerRecord getPlayerByName(String playerName) throws SQLException {
+        String sql = "SELECT name, uuid, ipAddress, lastLogin FROM players WHERE name = ? LIMIT 1";
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, playerName);
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next() ? mapPlayer(results) : null;
+            }
+        }
+    }
+
     public void createPunishment(Punishment punishment) throws SQLException {
+        // punishments.player_name references players.name, so a queued upsert must land first
+        if (playerUpserts.isPending(punishment.getPlayerName())) {
+            playerUpserts.flush();
+        }
 
         String sql = "INSERT INTO punishments(player_name, reason, operator, punishmentType, start, end, duration, isActive) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, punishment.getPlayerName());
             statement.setString(2, punishment.getReason());
             statement.setString(3, punishment.getOperator());
@@ -128,12 +210,105 @@ public final class Database {
             }
             statement.setBoolean(8, punishment.getIsActive());
             statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    punishment.setId(keys.getInt(1));
+                }
+            }
+        }
+        fireCreated(punishment);
+    }
+
+    // All rows in one JDBC batch and one transaction: either every punishment is stored or none
+    public void createPunishments(List<Punishment> punishments) throws SQLException {
+        if (punishments.isEmpty()) {
+            return;
+        }
+        for (Punishment punishment : punishments) {
+            if (playerUpserts.isPending(punishment.getPlayerName())) {
+                playerUpserts.flush();
+                break;
+            }
+        }
+
+        String sql = "INSERT INTO punishments(player_name, reason, operator, punishmentType, start, end, duration, isActive) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Punishment punishment : punishments) {
+                    statement.setString(1, punishment.getPlayerName());
+                    statement.setString(2, punishment.getReason());
+                    statement.setString(3, punishment.getOperator());
+                    statement.setString(4, punishment.getPunishmentType());
+                    statement.setTimestamp(5, punishment.getStart() != null ? Timestamp.valueOf(punishment.getStart()) : null);
+                    statement.setTimestamp(6, punishment.getEnd() != null ? Timestamp.valueOf(punishment.getEnd()) : null);
+                    if (punishment.getDuration() != null) {
+                        statement.setLong(7, punishment.getDuration());
+                    } else {
+                        statement.setNull(7, Types.BIGINT);
+                    }
+                    statement.setBoolean(8, punishment.getIsActive());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < punishments.size() && keys.next(); i++) {
+                        punishments.get(i).setId(keys.getInt(1));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        for (Punishment punishment : punishments) {
+            fireCreated(punishment);
         }
     }
 
+    // Bulk validation in one query: lower-cased name -> whether the player has an active ban.
+    // Names that are not in the map were never stored in players.
+    public Map<String, Boolean> getBanStates(Collection<String> names) throws SQLException {
+        Map<String, Boolean> states = new HashMap<>();
+        if (names.isEmpty()) {
+            return states;
+        }
+        // Players who just joined may still be queued; flush so the bot wave they belong to is found
+        for (String name : names) {
+            if (playerUpserts.isPending(name)) {
+                playerUpserts.flush();
+                break;
+            }
+        }
+        StringBuilder sql = new StringBuilder("SELECT pl.name, EXISTS(SELECT 1 FROM punishments p WHERE p.player_name = pl.name AND p.isActive = TRUE"
+                + " AND p.punishmentType IN ('ban', 'tempban', 'ipban', 'tempipban') AND (p.expires_at IS NULL OR p.expires_at > ?)"
+                + ") AS banned FROM players pl WHERE pl.name IN (");
+        for (int i = 0; i < names.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+            for (String name : names) {
+                statement.setString(index++, name);
+            }
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    states.put(results.getString(1).toLowerCase(), results.getBoolean(2));
+                }
+            }
+        }
+        return states;
+    }
+
     public void unpunishPlayer(String name, String punishmentType) throws SQLException {
         String query = "UPDATE punishments SET isActive = FALSE, end = ?, duration = TIMESTAMPDIFF(SECOND, start, ?) WHERE player_name = ? AND punishmentType = ? AND isActive = TRUE";
-        try (PreparedStatement statement = getConnection().prepareStatement(query)) {
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
             Timestamp now = Timestamp.valueOf(LocalDateTime.now());
             statement.setTimestamp(1, now);
             statement.setTimestamp(2, now);
@@ -141,13 +316,51 @@ public final class Database {
             statement.setString(4, punishmentType);
             statement.executeUpdate();
         }
+        fireRevoked(name, punishmentType);
     }
 
-    public List<Punishment> getPunishmentsByName(String name) throws SQLException {
-        String query = "SELECT * FROM punishments WHERE player_name = ?";
+    // All active punishments of the given types in one UPDATE; returns the number of rows revoked
+    public int unpunishPlayer(String name, List<String> punishmentTypes) throws SQLException {
+        if (punishmentTypes.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(punishmentTypes.size(), "?"));
+        String query = "UPDATE punishments SET isActive = FALSE, end = ?, duration = TIMESTAMPDIFF(SECOND, start, ?) WHERE player_name = ? AND punishmentType IN (" + placeholders + ") AND isActive = TRUE";
+        int updated;
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            statement.setTimestamp(1, now);
+            statement.setTimestamp(2, now);
+            statement.setString(3, name);
+            for (int i = 0; i < punishmentTypes.size(); i++) {
+                statement.setString(4 + i, punishmentTypes.get(i));
+            }
+            updated = statement.executeUpdate();
+        }
+        for (String punishmentType : punishmentTypes) {
+            fireRevoked(name, punishmentType);
+        }
+        return updated;
+    }
+
+    public int countPunishmentsByName(String name) throws SQLException {
+        String query = "SELECT COUNT(*) FROM punishments WHERE player_name = ?";
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, name);
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next() ? results.getInt(1) : 0;
+            }
+        }
+    }
+
+    // One page of a player's history, newest first
+    public List<Punishment> getPunishmentsByName(String name, int offset, int limit) throws SQLException {
+        String query = "SELECT * FROM punishments WHERE player_name = ? ORDER BY id DESC LIMIT ? OFFSET ?";
         List<Punishment> punishments = new ArrayList<>();
-        try (PreparedStatement statement = getConnection().prepareStatement(query)) {
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, name);
+            statement.setInt(2, limit);
+            statement.setInt(3, offset);
             try (ResultSet results = statement.executeQuery()) {
                 while (results.next()) {
                     punishments.add(mapPunishment(results));
@@ -157,11 +370,46 @@ public final class Database {
         return punishments;
     }
 
-    public List<Punishment> getActivePunishmentsByIp(String hostAddress) throws SQLException {
-        String query = "SELECT p.* FROM punishments p JOIN players pl ON pl.name = p.player_name WHERE pl.ipAddress = ? AND p.isActive = TRUE AND p.punishmentType IN ('ipban', 'tempipban')";
+    // Keyset page: filtering, ordering and LIMIT happen in SQL, page N never reads the rows of pages 1..N-1
+    public List<Punishment> findPunishments(PunishmentQuery query) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM punishments");
+        appendFilter(sql, params, query);
+
+        PunishmentQuery.Cursor cursor = query.after();
+        if (cursor != null) {
+            // MySQL sorts NULL start before every date, so it comes last in DESC and first in ASC
+            if (query.newestFirst()) {
+                if (cursor.start() != null) {
+                    sql.append(" AND (start < ? OR (start = ? AND id < ?) OR start IS NULL)");
+                    params.add(Timestamp.valueOf(cursor.start()));
+                    params.add(Timestamp.valueOf(cursor.start()));
+                } else {
+                    sql.append(" AND start IS NULL AND id < ?");
+                }
+            } else {
+                if (cursor.start() != null) {
+                    sql.append(" AND (start > ? OR (start = ? AND id > ?))");
+                    params.add(Timestamp.valueOf(cursor.start()));
+                    params.add(Timestamp.valueOf(cursor.start()));
+                } else {
+                    sql.append(" AND (start IS NOT NULL OR id > ?)");
+                }
+            }
+            params.add(cursor.id());
+        }
+
+        String direction = query.newestFirst() ? "DESC" : "ASC";
+        sql.append(" ORDER BY start ").append(direction).append(", id ").append(direction).append(" LIMIT ?");
+        params.add(query.limit());
+        if (cursor == null && query.offset() > 0) {
+            sql.append(" OFFSET ?");
+            params.add(query.offset());
+        }
+
         List<Punishment> punishments = new ArrayList<>();
-        try (PreparedStatement statement = getConnection().prepareStatement(query)) {
-            statement.setString(1, hostAddress);
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            bind(statement, params);
             try (ResultSet results = statement.executeQuery()) {
                 while (results.next()) {
                     punishments.add(mapPunishment(results));
@@ -171,34 +419,108 @@ public final class Database {
         return punishments;
     }
 
-    // Deactivate expired temporary punishments for given player
-    private void expirePunishmentsForName(String name) throws SQLException {
-        String sql = """
-                UPDATE punishments
-                SET isActive = FALSE,
-                    end = COALESCE(end, NOW()),
-                    duration = CASE WHEN start IS NOT NULL THEN TIMESTAMPDIFF(SECOND, start, NOW()) ELSE duration END
-                WHERE player_name = ?
-                  AND isActive = TRUE
-                  AND (
-                      (end IS NOT NULL AND end <= NOW())
-                      OR (duration IS NOT NULL AND start IS NOT NULL AND DATE_ADD(start, INTERVAL duration SECOND) <= NOW())
-                  )
-                """;
-        try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
-            statement.setString(1, name);
-            statement.executeUpdate();
+    // Ignores the cursor, offset and limit of the query
+    public int countPunishments(PunishmentQuery query) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM punishments");
+        appendFilter(sql, params, query);
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            bind(statement, params);
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next() ? results.getInt(1) : 0;
+            }
         }
     }
 
-    public List<Punishment> getActivePunishmentsByName(String name) throws SQLException {
-        // First, expire any time-limited punishments that already passed
-        expirePunishmentsForName(name);
+    private static void appendFilter(StringBuilder sql, List<Object> params, PunishmentQuery query) {
+        sql.append(" WHERE player_name = ?");
+        params.add(query.playerName());
+        if (!query.types().isEmpty()) {
+            sql.append(" AND punishmentType IN (");
+            for (int i = 0; i < query.types().size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                params.add(query.types().get(i));
+            }
+            sql.append(')');
+        }
+    }
+
+    private static void bind(PreparedStatement statement, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            statement.setObject(i + 1, params.get(i));
+        }
+    }
 
-        String query = "SELECT * FROM punishments WHERE player_name = ? AND isActive = TRUE";
+    // All active bans and IP bans with the banned player's identity, used to build the login ban index
+    public List<ActiveBan> getActiveBans() throws SQLException {
+        return getActiveBans(0);
+    }
+
+    // Only bans stored after afterId (primary key range), for refreshing the index with bans written elsewhere
+    public List<ActiveBan> getActiveBans(int afterId) throws SQLException {
+        String query = "SELECT p.*, pl.name, pl.uuid, pl.ipAddress, pl.lastLogin FROM punishments p JOIN players pl ON pl.name = p.player_name WHERE p.isActive = TRUE AND p.punishmentType IN ('ban', 'tempban', 'ipban', 'tempipban') AND p.id > ?";
+        List<ActiveBan> bans = new ArrayList<>();
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, afterId);
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    bans.add(new ActiveBan(mapPunishment(results), mapPlayer(results)));
+                }
+            }
+        }
+        return bans;
+    }
+
+    public int getMaxPunishmentId() throws SQLException {
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement("SELECT MAX(id) FROM punishments");
+             ResultSet results = statement.executeQuery()) {
+            return results.next() ? results.getInt(1) : 0;
+        }
+    }
+
+    // Same rows as getActiveBans(); a different count than the ban index means a ban was lifted elsewhere
+    public int countActiveBans() throws SQLException {
+        String query = "SELECT COUNT(*) FROM punishments p JOIN players pl ON pl.name = p.player_name WHERE p.isActive = TRUE AND p.punishmentType IN ('ban', 'tempban', 'ipban', 'tempipban')";
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query);
+             ResultSet results = statement.executeQuery()) {
+            return results.next() ? results.getInt(1) : 0;
+        }
+    }
+
+    // Active, not yet expired mutes of the given players in one query (mute cache refresh)
+    public List<Punishment> getActiveMutes(Collection<String> names) throws SQLException {
         List<Punishment> punishments = new ArrayList<>();
-        try (PreparedStatement statement = getConnection().prepareStatement(query)) {
+        if (names.isEmpty()) {
+            return punishments;
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM punishments WHERE isActive = TRUE AND punishmentType IN ('mute', 'tempmute') AND "
+                + NOT_EXPIRED + " AND player_name IN (");
+        for (int i = 0; i < names.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+            for (String name : names) {
+                statement.setString(index++, name);
+            }
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    punishments.add(mapPunishment(results));
+                }
+            }
+        }
+        return punishments;
+    }
+
+    // Read-only: rows past their expiry are filtered out here and deactivated by ExpiryService
+    public List<Punishment> getActivePunishmentsByName(String name) throws SQLException {
+        String query = "SELECT * FROM punishments WHERE player_name = ? AND isActive = TRUE AND " + NOT_EXPIRED;
+        List<Punishment> punishments = new ArrayList<>();
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, name);
+            statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
             try (ResultSet results = statement.executeQuery()) {
                 while (results.next()) {
                     punishments.add(mapPunishment(results));
@@ -208,6 +530,94 @@ public final class Database {
         return punishments;
     }
 
+    public List<Punishment> getActiveTemporaryPunishments() throws SQLException {
+        String query = "SELECT * FROM punishments WHERE isActive = TRUE AND expires_at IS NOT NULL";
+        List<Punishment> punishments = new ArrayList<>();
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    punishments.add(mapPunishment(results));
+                }
+            }
+        }
+        return punishments;
+    }
+
+    // Deactivates up to limit punishments that ran out by now; returns them so caches can drop them
+    public List<Punishment> expireDuePunishments(LocalDateTime now, int limit) throws SQLException {
+        // Range scan on idx_punishments_active_expires
+        String select = "SELECT * FROM punishments WHERE isActive = TRUE AND expires_at <= ? ORDER BY expires_at LIMIT ?";
+        List<Punishment> due = new ArrayList<>();
+        try (Connection connection = getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(select)) {
+                statement.setTimestamp(1, Timestamp.valueOf(now));
+                statement.setInt(2, limit);
+                try (ResultSet results = statement.executeQuery()) {
+                    while (results.next()) {
+                        due.add(mapPunishment(results));
+                    }
+                }
+            }
+            if (due.isEmpty()) {
+                return due;
+            }
+
+            StringBuilder update = new StringBuilder("UPDATE punishments SET isActive = FALSE, end = COALESCE(end, DATE_ADD(start, INTERVAL duration SECOND)) WHERE isActive = TRUE AND id IN (");
+            for (int i = 0; i < due.size(); i++) {
+                update.append(i == 0 ? "?" : ", ?");
+            }
+            update.append(')');
+            try (PreparedStatement statement = connection.prepareStatement(update.toString())) {
+                for (int i = 0; i < due.size(); i++) {
+                    statement.setInt(i + 1, due.get(i).getId());
+                }
+                statement.executeUpdate();
+            }
+        }
+
+        for (Punishment punishment : due) {
+            punishment.setIsActive(false);
+            fireExpired(punishment);
+        }
+        return due;
+    }
+
+    private void fireCreated(Punishment punishment) {
+        for (PunishmentChangeListener listener : changeListeners) {
+            try {
+                listener.onPunishmentCreated(punishment);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Punishment change listener failed", e);
+            }
+        }
+    }
+
+    private void fireRevoked(String name, String punishmentType) {
+        for (PunishmentChangeListener listener : changeListeners) {
+            try {
+                listener.onPunishmentRevoked(name, punishmentType);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Punishment change listener failed", e);
+            }
+        }
+    }
+
+    private void fireExpired(Punishment punishment) {
+        for (PunishmentChangeListener listener : changeListeners) {
+            try {
+                listener.onPunishmentExpired(punishment);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Punishment change listener failed", e);
+            }
+        }
+    }
+
+    private PlayerRecord mapPlayer(ResultSet results) throws SQLException {
+        Timestamp lastLogin = results.getTimestamp("lastLogin");
+        return new PlayerRecord(results.getString("name"), results.getString("uuid"), results.getString("ipAddress"),
+                lastLogin != null ? lastLogin.toLocalDateTime() : null);
+    }
+
     private Punishment mapPunishment(ResultSet results) throws SQLException {
         int id = results.getInt("id");
         String playerName = results.getString("player_name");
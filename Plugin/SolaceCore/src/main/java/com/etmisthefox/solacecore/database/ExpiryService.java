@@ -0,0 +1,161 @@
+package com.etmisthefox.solacecore.database;
+
+import com.etmisthefox.solacecore.models.Punishment;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Deactivates temporary punishments when they run out.
+// Upcoming expiry instants sit in a min-heap; the timer is always armed for the earliest one,
+// with a periodic safety sweep in case a write happened outside this plugin (e.g. the web API).
+public final class ExpiryService implements PunishmentChangeListener {
+
+    private record Expiry(LocalDateTime at, int id) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            return at.compareTo(other.at);
+        }
+    }
+
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private final Database database;
+    private final Logger log;
+    private final int batchSize;
+    private final long safetySweepMs;
+
+    private final PriorityQueue<Expiry> heap = new PriorityQueue<>();
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> nextRun;
+    private LocalDateTime nextRunAt;
+
+    ExpiryService(Database database, Logger log, int batchSize, long safetySweepSeconds) {
+        this.database = database;
+        this.log = log;
+        this.batchSize = Math.max(1, batchSize);
+        this.safetySweepMs = TimeUnit.SECONDS.toMillis(Math.max(1, safetySweepSeconds));
+    }
+
+    synchronized void start() throws SQLException {
+        if (timer != null) {
+            return;
+        }
+        for (Punishment punishment : database.getActiveTemporaryPunishments()) {
+            LocalDateTime expiresAt = punishment.getExpiresAt();
+            if (expiresAt != null) {
+                heap.add(new Expiry(expiresAt, punishment.getId()));
+            }
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SolaceCore-Expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Anything that expired while the server was down goes out right away
+        timer.execute(this::sweep);
+    }
+
+    synchronized void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+        nextRun = null;
+        nextRunAt = null;
+        heap.clear();
+    }
+
+    public synchronized int pending() {
+        return heap.size();
+    }
+
+    @Override
+    public void onPunishmentCreated(Punishment punishment) {
+        LocalDateTime expiresAt = punishment.getExpiresAt();
+        if (!punishment.getIsActive() || expiresAt == null || !isTemporary(punishment.getPunishmentType())) {
+            return;
+        }
+        synchronized (this) {
+            heap.add(new Expiry(expiresAt, punishment.getId()));
+            arm(0);
+        }
+    }
+
+    @Override
+    public void onPunishmentRevoked(String playerName, String punishmentType) {
+        // The heap entry stays; sweeping an already inactive row is a no-op
+    }
+
+    private void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        long minDelayMs = 0;
+        try {
+            List<Punishment> expired;
+            do {
+                expired = database.expireDuePunishments(now, batchSize);
+                if (!expired.isEmpty()) {
+                    log.fine("Expired " + expired.size() + " temporary punishment(s).");
+                }
+            } while (expired.size() >= batchSize && !Thread.currentThread().isInterrupted());
+
+            synchronized (this) {
+                while (!heap.isEmpty() && !heap.peek().at().isAfter(now)) {
+                    heap.poll();
+                }
+            }
+        } catch (SQLException e) {
+            log.log(Level.WARNING, "Failed to expire temporary punishments, will retry", e);
+            minDelayMs = RETRY_DELAY_MS;
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "Unexpected error in punishment expiry sweep", e);
+            minDelayMs = RETRY_DELAY_MS;
+        }
+
+        synchronized (this) {
+            nextRun = null;
+            nextRunAt = null;
+            arm(minDelayMs);
+        }
+    }
+
+    // Must hold the monitor. Keeps exactly one timer armed for min(heap head, safety sweep).
+    private void arm(long minDelayMs) {
+        if (timer == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime target = now.plus(Duration.ofMillis(safetySweepMs));
+        Expiry head = heap.peek();
+        if (head != null && head.at().isBefore(target)) {
+            target = head.at();
+        }
+        LocalDateTime earliest = now.plus(Duration.ofMillis(minDelayMs));
+        if (target.isBefore(earliest)) {
+            target = earliest;
+        }
+        if (nextRun != null && nextRunAt != null && !nextRunAt.isAfter(target)) {
+            return;
+        }
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+        long delayMs = Math.max(0, Duration.between(now, target).toMillis());
+        nextRunAt = target;
+        nextRun = timer.schedule(this::sweep, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isTemporary(String punishmentType) {
+        return "tempban".equalsIgnoreCase(punishmentType)
+                || "tempmute".equalsIgnoreCase(punishmentType)
+                || "tempipban".equalsIgnoreCase(punishmentType);
+    }
+}
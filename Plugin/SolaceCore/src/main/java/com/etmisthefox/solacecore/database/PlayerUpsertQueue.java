@@ -0,0 +1,127 @@
+package com.etmisthefox.solacecore.database;
+
+import com.etmisthefox.solacecore.models.PlayerRecord;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Write-behind buffer for players upserts (IP + last login).
+// Repeated logins of the same name are coalesced; pending rows are written in one JDBC batch
+// once batchSize rows are waiting or flushIntervalMs elapsed, whichever comes first.
+public final class PlayerUpsertQueue {
+
+    private final Database database;
+    private final Logger log;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Map<String, PlayerRecord> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private ScheduledExecutorService worker;
+
+    PlayerUpsertQueue(Database database, Logger log, int batchSize, long flushIntervalMs) {
+        this.database = database;
+        this.log = log;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(50, flushIntervalMs);
+    }
+
+    synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SolaceCore-PlayerUpserts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void enqueue(String playerName, String uuid, String ipAddress) {
+        pending.put(key(playerName), new PlayerRecord(playerName, uuid, ipAddress, LocalDateTime.now()));
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            ScheduledExecutorService current = worker;
+            if (current != null) {
+                current.execute(this::flushQuietly);
+            } else {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    public boolean isPending(String playerName) {
+        return pending.containsKey(key(playerName));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    // Writes everything queued so far; safe to call from any thread
+    public synchronized void flush() throws SQLException {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, PlayerRecord>> drained = new ArrayList<>(pending.entrySet());
+        List<PlayerRecord> batch = new ArrayList<>(drained.size());
+        for (Map.Entry<String, PlayerRecord> entry : drained) {
+            // A newer login for the same name stays queued for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            database.addPlayers(batch);
+        } catch (SQLException e) {
+            for (PlayerRecord player : batch) {
+                pending.putIfAbsent(key(player.name()), player);
+            }
+            throw e;
+        }
+    }
+
+    // Stops the timer and drains what is left (onDisable)
+    synchronized void shutdown() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+        try {
+            flush();
+        } catch (SQLException e) {
+            log.log(Level.SEVERE, "Failed to write " + pending.size() + " queued player update(s) on shutdown", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            log.log(Level.WARNING, "Failed to flush queued player updates, will retry", e);
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "Unexpected error while flushing player updates", e);
+        }
+    }
+
+    private static String key(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+}
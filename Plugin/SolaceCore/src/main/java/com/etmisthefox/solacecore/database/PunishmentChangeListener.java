@@ -0,0 +1,14 @@
+package com.etmisthefox.solacecore.database;
+
+import com.etmisthefox.solacecore.models.Punishment;
+
+// Notified by Database after a punishment write has been committed
+public interface PunishmentChangeListener {
+
+    void onPunishmentCreated(Punishment punishment);
+
+    void onPunishmentRevoked(String playerName, String punishmentType);
+
+    // A temporary punishment ran out and was deactivated by the expiry sweeper
+    default void onPunishmentExpired(Punishment punishment) { }
+}
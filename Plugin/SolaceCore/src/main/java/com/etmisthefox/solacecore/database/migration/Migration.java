@@ -0,0 +1,108 @@
+package com.etmisthefox.solacecore.database.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * One versioned script from {@code db/migration}, named {@code V<version>__<description>.sql}.
+ * <p>
+ * Statements end with {@code ;} at the end of a line. A comment line starting with
+ * {@code -- solace:} is a directive for the statement that follows it:
+ * <ul>
+ *     <li>{@code skip-if-index-exists <table> <index>}</li>
+ *     <li>{@code skip-if-column-exists <table> <column>}</li>
+ *     <li>{@code batch <size>} - the statement contains {@code LIMIT :batch} and is repeated
+ *     until it touches fewer rows than that, so large backfills never hold long locks</li>
+ * </ul>
+ */
+public record Migration(int version, String description, String resource, long checksum, List<Step> steps) {
+
+    public record Step(String sql, String skipIfIndexTable, String skipIfIndex, String skipIfColumnTable, String skipIfColumn, int batchSize) { }
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String DIRECTIVE = "-- solace:";
+
+    static boolean isScript(String fileName) {
+        return FILE_NAME.matcher(fileName).matches();
+    }
+
+    static Migration parse(String fileName, String resource, String script) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a migration script: " + fileName);
+        }
+        int version = Integer.parseInt(matcher.group(1));
+        String description = matcher.group(2).replace('_', ' ');
+
+        List<Step> steps = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        String indexTable = null, index = null, columnTable = null, column = null;
+        int batchSize = 0;
+
+        for (String rawLine : script.split("\\R")) {
+            String line = rawLine.strip();
+            if (line.startsWith(DIRECTIVE)) {
+                String[] args = line.substring(DIRECTIVE.length()).strip().split("\\s+");
+                switch (args[0]) {
+                    case "skip-if-index-exists" -> {
+                        requireArgs(fileName, args, 3);
+                        indexTable = args[1];
+                        index = args[2];
+                    }
+                    case "skip-if-column-exists" -> {
+                        requireArgs(fileName, args, 3);
+                        columnTable = args[1];
+                        column = args[2];
+                    }
+                    case "batch" -> {
+                        requireArgs(fileName, args, 2);
+                        batchSize = Integer.parseInt(args[1]);
+                    }
+                    default -> throw new IllegalArgumentException(fileName + ": unknown directive '" + args[0] + "'");
+                }
+                continue;
+            }
+            if (line.isEmpty() || line.startsWith("--")) {
+                continue;
+            }
+
+            sql.append(rawLine).append('\n');
+            if (line.endsWith(";")) {
+                String statement = sql.toString().strip();
+                statement = statement.substring(0, statement.length() - 1).strip();
+                if (batchSize > 0 && !statement.contains(":batch")) {
+                    throw new IllegalArgumentException(fileName + ": batched statement must contain LIMIT :batch");
+                }
+                steps.add(new Step(statement, indexTable, index, columnTable, column, batchSize));
+                sql.setLength(0);
+                indexTable = index = columnTable = column = null;
+                batchSize = 0;
+            }
+        }
+        if (!sql.isEmpty()) {
+            throw new IllegalArgumentException(fileName + ": last statement is missing a terminating ';'");
+        }
+
+        return new Migration(version, description, resource, checksum(script), List.copyOf(steps));
+    }
+
+    // Line endings and trailing whitespace don't count, so a checkout on Windows keeps the same checksum
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        for (String line : script.split("\\R")) {
+            crc.update(line.stripTrailing().getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    private static void requireArgs(String fileName, String[] args, int count) {
+        if (args.length != count) {
+            throw new IllegalArgumentException(fileName + ": directive '" + args[0] + "' expects " + (count - 1) + " argument(s)");
+        }
+    }
+}
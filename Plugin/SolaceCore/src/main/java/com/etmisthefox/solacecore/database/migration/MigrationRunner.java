@@ -0,0 +1,320 @@
+package com.etmisthefox.solacecore.database.migration;
+
+import com.etmisthefox.solacecore.database.Database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Brings the database schema up to the newest script in {@code db/migration}.
+ * <p>
+ * Applied versions are recorded in {@code schema_version}. The whole run holds a MySQL named lock,
+ * so several servers sharing one database never migrate concurrently; the others wait and then
+ * find nothing left to do.
+ */
+public final class MigrationRunner {
+
+    private static final String LOCATION = "db/migration";
+    private static final Pattern ONLINE_HINTS = Pattern.compile(",\\s*(ALGORITHM\\s*=\\s*INPLACE|LOCK\\s*=\\s*NONE)", Pattern.CASE_INSENSITIVE);
+    // ER_ALTER_OPERATION_NOT_SUPPORTED, ER_ALTER_OPERATION_NOT_SUPPORTED_REASON
+    private static final int ALTER_NOT_SUPPORTED = 1845;
+    private static final int ALTER_NOT_SUPPORTED_REASON = 1846;
+
+    private final Database database;
+    private final Logger log;
+    private final int lockTimeoutSeconds;
+    private final long batchPauseMs;
+
+    public MigrationRunner(Database database, Logger log, int lockTimeoutSeconds, long batchPauseMs) {
+        this.database = database;
+        this.log = log;
+        this.lockTimeoutSeconds = Math.max(1, lockTimeoutSeconds);
+        this.batchPauseMs = Math.max(0, batchPauseMs);
+    }
+
+    public void migrate() throws SQLException {
+        List<Migration> migrations = loadMigrations();
+
+        try (Connection connection = database.getConnection()) {
+            acquireLock(connection);
+            try {
+                createVersionTable(connection);
+                Map<Integer, Long> applied = getAppliedVersions(connection);
+                validate(connection, migrations, applied);
+
+                int current = applied.keySet().stream().max(Integer::compare).orElse(0);
+                int upgraded = current;
+                for (Migration migration : migrations) {
+                    if (applied.containsKey(migration.version())) {
+                        continue;
+                    }
+                    apply(connection, migration);
+                    upgraded = Math.max(upgraded, migration.version());
+                }
+
+                if (upgraded != current) {
+                    log.info("Database schema upgraded from version " + current + " to " + upgraded + ".");
+                } else {
+                    log.info("Database schema is up to date (version " + current + ").");
+                }
+            } finally {
+                releaseLock(connection);
+            }
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        log.info("Applying database migration V" + migration.version() + " (" + migration.description() + ")...");
+        long started = System.currentTimeMillis();
+
+        for (Migration.Step step : migration.steps()) {
+            try {
+                execute(connection, step);
+            } catch (SQLException e) {
+                throw new SQLException("Migration " + migration.resource() + " failed at: " + step.sql(), e.getSQLState(), e.getErrorCode(), e);
+            }
+        }
+
+        long took = System.currentTimeMillis() - started;
+        String sql = "INSERT INTO schema_version(version, description, checksum, installed_on, execution_ms) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.setLong(3, migration.checksum());
+            statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setLong(5, took);
+            statement.executeUpdate();
+        }
+        log.info("Migration V" + migration.version() + " applied in " + took + " ms.");
+    }
+
+    private void execute(Connection connection, Migration.Step step) throws SQLException {
+        if (step.skipIfIndex() != null && indexExists(connection, step.skipIfIndexTable(), step.skipIfIndex())) {
+            return;
+        }
+        if (step.skipIfColumn() != null && columnExists(connection, step.skipIfColumnTable(), step.skipIfColumn())) {
+            return;
+        }
+
+        if (step.batchSize() > 0) {
+            executeBatched(connection, step);
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(step.sql());
+        } catch (SQLException e) {
+            // Older MySQL / MariaDB can't do every ALTER in place; fall back to a regular copy
+            if ((e.getErrorCode() == ALTER_NOT_SUPPORTED || e.getErrorCode() == ALTER_NOT_SUPPORTED_REASON)
+                    && ONLINE_HINTS.matcher(step.sql()).find()) {
+                log.warning("Online ALTER not supported here (" + e.getMessage() + "), retrying as a table copy.");
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(ONLINE_HINTS.matcher(step.sql()).replaceAll(""));
+                }
+                return;
+            }
+            throw e;
+        }
+    }
+
+    // Repeats a LIMIT-ed UPDATE/DELETE in short transactions so row locks are never held for long
+    private void executeBatched(Connection connection, Migration.Step step) throws SQLException {
+        String sql = step.sql().replace(":batch", Integer.toString(step.batchSize()));
+        long total = 0;
+        int updated;
+        try (Statement statement = connection.createStatement()) {
+            do {
+                updated = statement.executeUpdate(sql);
+                total += updated;
+                if (updated >= step.batchSize() && batchPauseMs > 0) {
+                    try {
+                        Thread.sleep(batchPauseMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted during batched migration step", e);
+                    }
+                }
+            } while (updated >= step.batchSize());
+        }
+        log.info("Batched migration step touched " + total + " row(s).");
+    }
+
+    private void validate(Connection connection, List<Migration> migrations, Map<Integer, Long> applied) throws SQLException {
+        int newestKnown = 0;
+        for (Migration migration : migrations) {
+            newestKnown = Math.max(newestKnown, migration.version());
+            if (!applied.containsKey(migration.version())) {
+                continue;
+            }
+            Long checksum = applied.get(migration.version());
+            if (checksum == null) {
+                // Recorded before checksums existed
+                String sql = "UPDATE schema_version SET checksum = ? WHERE version = ?";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setLong(1, migration.checksum());
+                    statement.setInt(2, migration.version());
+                    statement.executeUpdate();
+                }
+            } else if (checksum != migration.checksum()) {
+                log.warning("Migration " + migration.resource() + " was changed after it had been applied (checksum "
+                        + checksum + " in database, " + migration.checksum() + " in plugin).");
+            }
+        }
+        for (int version : applied.keySet()) {
+            if (version > newestKnown) {
+                log.warning("Database schema version " + version + " is newer than this plugin (" + newestKnown + "). Was the plugin downgraded?");
+                break;
+            }
+        }
+    }
+
+    private void createVersionTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS `schema_version` (
+                       `version` INT NOT NULL,
+                       `description` VARCHAR(255) NOT NULL,
+                       `checksum` BIGINT DEFAULT NULL,
+                       `installed_on` DATETIME NOT NULL,
+                       `execution_ms` BIGINT DEFAULT NULL,
+                       PRIMARY KEY (`version`)
+                    );
+                    """);
+        }
+        // schema_version from before the migration scripts had no checksum / timing
+        if (!columnExists(connection, "schema_version", "checksum")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE `schema_version` ADD COLUMN `checksum` BIGINT DEFAULT NULL AFTER `description`");
+            }
+        }
+        if (!columnExists(connection, "schema_version", "execution_ms")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE `schema_version` ADD COLUMN `execution_ms` BIGINT DEFAULT NULL");
+            }
+        }
+    }
+
+    private Map<Integer, Long> getAppliedVersions(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet results = statement.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (results.next()) {
+                long checksum = results.getLong("checksum");
+                applied.put(results.getInt("version"), results.wasNull() ? null : checksum);
+            }
+        }
+        return applied;
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(CONCAT(DATABASE(), '.solacecore_migrations'), ?)")) {
+            statement.setInt(1, lockTimeoutSeconds);
+            try (ResultSet results = statement.executeQuery()) {
+                if (!results.next() || results.getInt(1) != 1) {
+                    throw new SQLException("Could not acquire the schema migration lock within " + lockTimeoutSeconds + " s (another server is migrating?)");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT RELEASE_LOCK(CONCAT(DATABASE(), '.solacecore_migrations'))");
+        } catch (SQLException e) {
+            // The lock is released with the session anyway
+            log.warning("Failed to release the schema migration lock: " + e.getMessage());
+        }
+    }
+
+    private boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ? LIMIT 1";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, table);
+            statement.setString(2, index);
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next();
+            }
+        }
+    }
+
+    private boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ? LIMIT 1";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, table);
+            statement.setString(2, column);
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next();
+            }
+        }
+    }
+
+    // Scripts are listed from the plugin jar (or the classes directory when run from an IDE)
+    private List<Migration> loadMigrations() throws SQLException {
+        List<String> fileNames = new ArrayList<>();
+        try {
+            Path source = Path.of(MigrationRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(source)) {
+                Path directory = source.resolve(LOCATION);
+                if (Files.isDirectory(directory)) {
+                    try (Stream<Path> files = Files.list(directory)) {
+                        files.map(file -> file.getFileName().toString()).forEach(fileNames::add);
+                    }
+                }
+            } else {
+                try (JarFile jar = new JarFile(source.toFile())) {
+                    for (JarEntry entry : jar.stream().toList()) {
+                        String name = entry.getName();
+                        if (!entry.isDirectory() && name.startsWith(LOCATION + "/") && name.indexOf('/', LOCATION.length() + 1) < 0) {
+                            fileNames.add(name.substring(LOCATION.length() + 1));
+                        }
+                    }
+                }
+            }
+
+            List<Migration> migrations = new ArrayList<>();
+            for (String fileName : fileNames) {
+                if (!Migration.isScript(fileName)) {
+                    continue;
+                }
+                String resource = LOCATION + "/" + fileName;
+                try (InputStream in = MigrationRunner.class.getClassLoader().getResourceAsStream(resource)) {
+                    if (in == null) {
+                        throw new IOException("Missing resource " + resource);
+                    }
+                    migrations.add(Migration.parse(fileName, resource, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+            migrations.sort(Comparator.comparingInt(Migration::version));
+            for (int i = 1; i < migrations.size(); i++) {
+                if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                    throw new SQLException("Duplicate migration version " + migrations.get(i).version() + ": "
+                            + migrations.get(i - 1).resource() + ", " + migrations.get(i).resource());
+                }
+            }
+            return migrations;
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            throw new SQLException("Failed to load database migration scripts", e);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.etmisthefox.solacecore.discord;
 
+import com.etmisthefox.solacecore.SolaceCore;
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.enums.PunishmentType;
 import com.etmisthefox.solacecore.managers.LanguageManager;
+import com.etmisthefox.solacecore.models.PunishmentResult;
 import com.etmisthefox.solacecore.utils.PunishmentUtil;
 import com.etmisthefox.solacecore.utils.TimeUtil;
 import net.dv8tion.jda.api.entities.Member;
@@ -13,20 +15,45 @@ import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.JDA;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public final class DiscordCommandHandler extends ListenerAdapter {
 
+    // failures = commands answered with an error (not found, protected, database error, ...)
+    public record CommandMetrics(long count, long failures, double averageMs, long maxMs) { }
+
     private final Database database;
     private final LanguageManager lang;
+    private final ExecutorService executor;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
 
-    public DiscordCommandHandler(Database database, LanguageManager lang) {
+    public DiscordCommandHandler(Database database, LanguageManager lang, int threads) {
         this.database = database;
         this.lang = lang;
+
+        AtomicInteger workerId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "SolaceCore-Discord-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public void registerCommands(JDA jda) {
@@ -71,6 +98,7 @@ public final class DiscordCommandHandler extends ListenerAdapter {
 
     @Override
     public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
+        long started = System.nanoTime();
         String commandName = event.getName();
         Member member = event.getMember();
 
@@ -93,95 +121,117 @@ public final class DiscordCommandHandler extends ListenerAdapter {
         // Defer reply immediately
         event.deferReply(true).queue();
 
-        // Run on main server thread
-        Bukkit.getScheduler().runTask(Bukkit.getPluginManager().getPlugin("SolaceCore"), () -> {
+        CompletableFuture<Reply> reply = switch (commandName) {
+            case "ban" -> punish(PunishmentType.BAN, playerName, reason, null, false, "discord.reply.ban_success");
+            case "unban" -> revoke(playerName, List.of("ban", "tempban", "ipban", "tempipban"), "UNBAN", operator, "Unbanned via Discord", "discord.reply.unban_success");
+            case "kick" -> punish(PunishmentType.KICK, playerName, reason, null, true, "discord.reply.kick_success");
+            case "mute" -> punish(PunishmentType.MUTE, playerName, reason, null, true, "discord.reply.mute_success");
+            case "unmute" -> revoke(playerName, List.of("mute", "tempmute"), "UNMUTE", operator, "Unmuted via Discord", "discord.reply.unmute_success");
+            case "warn" -> punish(PunishmentType.WARN, playerName, reason, null, true, "discord.reply.warn_success");
+            case "tempban" -> punish(PunishmentType.TEMPBAN, playerName, reason, duration(event, "1d"), false, "discord.reply.tempban_success");
+            case "tempmute" -> punish(PunishmentType.TEMPMUTE, playerName, reason, duration(event, "1h"), true, "discord.reply.tempmute_success");
+            case "ipban" -> punish(PunishmentType.IPBAN, playerName, reason, null, false, "discord.reply.ipban_success");
+            case "tempipban" -> punish(PunishmentType.TEMPIPBAN, playerName, reason, duration(event, "1d"), false, "discord.reply.tempipban_success");
+            default -> CompletableFuture.completedFuture(new Reply(false, lang.getMessage("discord.reply.unknown_command", "command", commandName)));
+        };
+
+        // The deferred reply is finished from the Discord executor, never from the main thread
+        reply.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            Logger.getLogger(DiscordCommandHandler.class.getName()).log(Level.SEVERE, "Discord command error", cause);
+            return new Reply(false, lang.getMessage("discord.reply.database_error", "error", String.valueOf(cause.getMessage())));
+        }).thenAcceptAsync(result -> event.getHook().sendMessage(result.message()).queue(
+                sent -> record(commandName, started, result.success()),
+                error -> record(commandName, started, false)
+        ), executor);
+    }
+
+    private record Reply(boolean success, String message) { }
+
+    private static Long duration(SlashCommandInteractionEvent event, String fallback) {
+        var durationOption = event.getOption("duration");
+        return TimeUtil.parseDuration(durationOption != null ? durationOption.getAsString() : fallback);
+    }
+
+    // Player lookup and protection checks run on the main thread, the insert on Database's executor and
+    // kicks/messages back on the main thread (all inside executePunishment)
+    private CompletableFuture<Reply> punish(PunishmentType type, String playerName, String reason, Long durationSeconds, boolean requireOnline, String successKey) {
+        return CompletableFuture.supplyAsync(() -> {
+            Player target = Bukkit.getPlayerExact(playerName);
+            if (requireOnline && target == null) {
+                return CompletableFuture.completedFuture(new Reply(false, lang.getMessage("discord.reply.player_not_online", "player", playerName)));
+            }
+            return PunishmentUtil.executePunishment(database, lang, type, Bukkit.getConsoleSender(), target, requireOnline ? null : playerName, reason, durationSeconds, "discord")
+                    .thenApply(result -> replyResult(result, lang.getMessage(successKey, "player", playerName)));
+        }, Bukkit.getScheduler().getMainThreadExecutor(JavaPlugin.getPlugin(SolaceCore.class))).thenCompose(future -> future);
+    }
+
+    // Pure database work, no player is touched: stays on the Discord executor
+    private CompletableFuture<Reply> revoke(String playerName, List<String> types, String logAction, String operator, String logReason, String successKey) {
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                Player target = Bukkit.getPlayerExact(playerName);
-
-                switch (commandName) {
-                    case "ban" -> {
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.BAN, Bukkit.getConsoleSender(), target, playerName, reason, null, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.ban_success", "player", playerName)).queue();
-                    }
-                    case "unban" -> {
-                        database.unpunishPlayer(playerName, "ban");
-                        database.unpunishPlayer(playerName, "tempban");
-                        database.unpunishPlayer(playerName, "ipban");
-                        DiscordManager dm = DiscordManager.getInstance();
-                        if (dm != null) {
-                            dm.logActionToDiscord("UNBAN", operator, playerName, "Unbanned via Discord", null);
-                        }
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.unban_success", "player", playerName)).queue();
-                    }
-                    case "kick" -> {
-                        if (target == null) {
-                            event.getHook().sendMessage(lang.getMessage("discord.reply.player_not_online", "player", playerName)).queue();
-                            return;
-                        }
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.KICK, Bukkit.getConsoleSender(), target, reason, null, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.kick_success", "player", playerName)).queue();
-                    }
-                    case "mute" -> {
-                        if (target == null) {
-                            event.getHook().sendMessage(lang.getMessage("discord.reply.player_not_online", "player", playerName)).queue();
-                            return;
-                        }
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.MUTE, Bukkit.getConsoleSender(), target, reason, null, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.mute_success", "player", playerName)).queue();
-                    }
-                    case "unmute" -> {
-                        database.unpunishPlayer(playerName, "mute");
-                        database.unpunishPlayer(playerName, "tempmute");
-                        DiscordManager dm = DiscordManager.getInstance();
-                        if (dm != null) {
-                            dm.logActionToDiscord("UNMUTE", operator, playerName, "Unmuted via Discord", null);
-                        }
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.unmute_success", "player", playerName)).queue();
-                    }
-                    case "warn" -> {
-                        if (target == null) {
-                            event.getHook().sendMessage(lang.getMessage("discord.reply.player_not_online", "player", playerName)).queue();
-                            return;
-                        }
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.WARN, Bukkit.getConsoleSender(), target, reason, null, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.warn_success", "player", playerName)).queue();
-                    }
-                    case "tempban" -> {
-                        var durationOption = event.getOption("duration");
-                        String duration = durationOption != null ? durationOption.getAsString() : "1d";
-                        Long durationSeconds = TimeUtil.parseDuration(duration);
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.TEMPBAN, Bukkit.getConsoleSender(), target, playerName, reason, durationSeconds, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.tempban_success", "player", playerName)).queue();
-                    }
-                    case "tempmute" -> {
-                        if (target == null) {
-                            event.getHook().sendMessage(lang.getMessage("discord.reply.player_not_online", "player", playerName)).queue();
-                            return;
-                        }
-                        var durationOption = event.getOption("duration");
-                        String duration = durationOption != null ? durationOption.getAsString() : "1h";
-                        Long durationSeconds = TimeUtil.parseDuration(duration);
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.TEMPMUTE, Bukkit.getConsoleSender(), target, reason, durationSeconds, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.tempmute_success", "player", playerName)).queue();
-                    }
-                    case "ipban" -> {
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.IPBAN, Bukkit.getConsoleSender(), target, playerName, reason, null, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.ipban_success", "player", playerName)).queue();
-                    }
-                    case "tempipban" -> {
-                        var durationOption = event.getOption("duration");
-                        String duration = durationOption != null ? durationOption.getAsString() : "1d";
-                        Long durationSeconds = TimeUtil.parseDuration(duration);
-                        PunishmentUtil.executePunishment(database, lang, PunishmentType.TEMPIPBAN, Bukkit.getConsoleSender(), target, playerName, reason, durationSeconds, "discord");
-                        event.getHook().sendMessage(lang.getMessage("discord.reply.tempipban_success", "player", playerName)).queue();
-                    }
-                    default -> event.getHook().sendMessage(lang.getMessage("discord.reply.unknown_command", "command", commandName)).queue();
-                }
+                database.unpunishPlayer(playerName, types);
             } catch (SQLException e) {
-                event.getHook().sendMessage(lang.getMessage("discord.reply.database_error", "error", e.getMessage())).queue();
-                Logger.getLogger(DiscordCommandHandler.class.getName()).log(Level.SEVERE, "Discord command error", e);
+                throw new CompletionException(e);
             }
-        });
+            DiscordManager dm = DiscordManager.getInstance();
+            if (dm != null) {
+                dm.logActionToDiscord(logAction, operator, playerName, logReason, null);
+            }
+            return new Reply(true, lang.getMessage(successKey, "player", playerName));
+        }, executor);
+    }
+
+    // The success reply goes out only once the punishment was actually stored
+    private Reply replyResult(PunishmentResult result, String successMessage) {
+        return result.isSuccess()
+                ? new Reply(true, successMessage)
+                : new Reply(false, lang.getMessage("discord.error", "error", result.message()));
     }
-}
 
+    // Latency = interaction received until Discord accepted the reply
+    private void record(String commandName, long started, boolean success) {
+        timers.computeIfAbsent(commandName, name -> new Timer()).record(System.nanoTime() - started, success);
+    }
+
+    public Map<String, CommandMetrics> getMetrics() {
+        Map<String, CommandMetrics> metrics = new TreeMap<>();
+        timers.forEach((name, timer) -> metrics.put(name, timer.snapshot()));
+        return metrics;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos, boolean success) {
+            count.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        CommandMetrics snapshot() {
+            long n = count.sum();
+            double averageMs = n == 0 ? 0 : totalNanos.sum() / (double) n / 1_000_000d;
+            return new CommandMetrics(n, failures.sum(), averageMs, TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.etmisthefox.solacecore.discord;
+
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Collects action logs for a short window and sends them as few Discord messages as possible.
+ * <p>
+ * Only one message is in flight at a time and it is sent with {@code complete()}, so JDA's rate limiter
+ * paces the sender; whatever arrives meanwhile waits here and joins the next batch instead of piling
+ * up as separate REST calls. A batch larger than the summary threshold is written as one line per
+ * action, operator and reason (a ban wave of 300 bots becomes a single line with the names). Pending
+ * entries are bounded, the overflow is reported as a count. What is left is sent on shutdown.
+ */
+public final class DiscordLogBatcher {
+
+    public record Entry(String action, String operator, String player, String reason, String duration, long epochSecond) { }
+
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+    // Shutdown gives up sending after this long, the server is stopping
+    private static final long SHUTDOWN_BUDGET_MS = 5000;
+
+    private final TextChannel channel;
+    private final LanguageManager lang;
+    private final Logger log;
+    private final long windowMs;
+    private final int maxPending;
+    private final int summaryThreshold;
+
+    private final ArrayDeque<Entry> pending = new ArrayDeque<>();
+    private final ScheduledExecutorService executor;
+    private boolean scheduled;
+    private int overflow;
+
+    public DiscordLogBatcher(TextChannel channel, LanguageManager lang, ConfigurationSection config, Logger log) {
+        this.channel = channel;
+        this.lang = lang;
+        this.log = log;
+        this.windowMs = Math.max(0, config != null ? config.getLong("window_ms", 2000) : 2000);
+        this.maxPending = Math.max(1, config != null ? config.getInt("max_pending", 5000) : 5000);
+        this.summaryThreshold = Math.max(1, config != null ? config.getInt("summary_threshold", 40) : 40);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SolaceCore-Discord-Log");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized void submit(Entry entry) {
+        if (pending.size() >= maxPending) {
+            overflow++;
+            return;
+        }
+        pending.add(entry);
+        schedule();
+    }
+
+    // Caller holds the monitor
+    private void schedule() {
+        if (scheduled || executor.isShutdown()) {
+            return;
+        }
+        scheduled = true;
+        try {
+            executor.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, shutdown() sends what is pending
+            scheduled = false;
+        }
+    }
+
+    // Waits for a running flush, then sends the rest from the calling thread
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(SHUTDOWN_BUDGET_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        send(takeBatch(), System.currentTimeMillis() + SHUTDOWN_BUDGET_MS);
+    }
+
+    private void flush() {
+        try {
+            send(takeBatch(), Long.MAX_VALUE);
+        } finally {
+            synchronized (this) {
+                scheduled = false;
+                if (!pending.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    private record Batch(List<Entry> entries, int overflow) { }
+
+    private synchronized Batch takeBatch() {
+        Batch batch = new Batch(new ArrayList<>(pending), overflow);
+        pending.clear();
+        overflow = 0;
+        return batch;
+    }
+
+    // Text to send and how many actions it covers, for counting what was lost
+    private record Message(String text, int actions) { }
+
+    // A failed message is retried once; if that fails too, the rest of the batch is still sent
+    private void send(Batch batch, long deadline) {
+        List<Message> messages = pack(batch);
+        int lostMessages = 0;
+        int lostActions = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            if (System.currentTimeMillis() > deadline) {
+                for (Message unsent : messages.subList(i, messages.size())) {
+                    lostMessages++;
+                    lostActions += unsent.actions();
+                }
+                log.warning("Discord log not fully sent before shutdown, " + lostActions + " actions in " + lostMessages + " messages lost.");
+                return;
+            }
+            if (!trySend(message.text()) && !trySend(message.text())) {
+                lostMessages++;
+                lostActions += message.actions();
+            }
+        }
+        if (lostMessages > 0) {
+            log.warning("Discord action log lost " + lostActions + " actions in " + lostMessages + " of " + messages.size() + " messages.");
+        }
+    }
+
+    private boolean trySend(String text) {
+        try {
+            channel.sendMessage(text).complete();
+            return true;
+        } catch (Exception e) {
+            log.warning("Failed to send Discord action log: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private List<Message> pack(Batch batch) {
+        List<Message> blocks = new ArrayList<>();
+        if (batch.entries().size() > summaryThreshold) {
+            blocks.addAll(summarize(batch.entries()));
+        } else {
+            for (Entry entry : batch.entries()) {
+                blocks.add(new Message(format(entry), 1));
+            }
+        }
+        if (batch.overflow() > 0) {
+            blocks.add(new Message(lang.getMessage("discord.log.dropped", "count", String.valueOf(batch.overflow())), 0));
+        }
+
+        List<Message> messages = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int actions = 0;
+        for (Message block : blocks) {
+            String text = block.text();
+            if (text.length() > MAX_MESSAGE_LENGTH) {
+                text = text.substring(0, MAX_MESSAGE_LENGTH - 1) + "…";
+            }
+            if (current.length() > 0 && current.length() + 1 + text.length() > MAX_MESSAGE_LENGTH) {
+                messages.add(new Message(current.toString(), actions));
+                current.setLength(0);
+                actions = 0;
+            }
+            if (current.length() > 0) {
+                current.append('\n');
+            }
+            current.append(text);
+            actions += block.actions();
+        }
+        if (current.length() > 0) {
+            messages.add(new Message(current.toString(), actions));
+        }
+        return messages;
+    }
+
+    private String format(Entry entry) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("**").append(entry.action()).append("**\n");
+        sb.append("**").append(lang.getMessage("discord.log.operator")).append(":** ").append(entry.operator()).append("\n");
+        sb.append("**").append(lang.getMessage("discord.log.player")).append(":** ").append(entry.player()).append("\n");
+        sb.append("**").append(lang.getMessage("discord.log.reason")).append(":** ").append(entry.reason() != null ? entry.reason() : lang.getMessage("discord.log.na")).append("\n");
+        if (entry.duration() != null) {
+            sb.append("**").append(lang.getMessage("discord.log.duration")).append(":** ").append(entry.duration()).append("\n");
+        }
+        sb.append("**").append(lang.getMessage("discord.log.time")).append(":** <t:").append(entry.epochSecond()).append(":R>\n");
+        return sb.toString();
+    }
+
+    // One block per (action, operator, reason, duration), in order of first appearance; names are cut to fit one message
+    private List<Message> summarize(List<Entry> entries) {
+        Map<List<String>, List<Entry>> groups = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            List<String> key = List.of(entry.action(), String.valueOf(entry.operator()), String.valueOf(entry.reason()), String.valueOf(entry.duration()));
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+        }
+
+        List<Message> blocks = new ArrayList<>();
+        for (List<Entry> group : groups.values()) {
+            Entry first = group.get(0);
+            StringBuilder sb = new StringBuilder();
+            sb.append(lang.getMessage("discord.log.summary",
+                    "action", first.action(),
+                    "count", String.valueOf(group.size()),
+                    "operator", String.valueOf(first.operator()),
+                    "reason", first.reason() != null ? first.reason() : lang.getMessage("discord.log.na")));
+            if (first.duration() != null) {
+                sb.append(" | ").append(first.duration());
+            }
+            sb.append(" | <t:").append(first.epochSecond()).append(":R>\n> ");
+
+            int listed = 0;
+            for (Entry entry : group) {
+                // Room for the "+N" suffix
+                if (sb.length() + entry.player().length() + 32 > MAX_MESSAGE_LENGTH) {
+                    break;
+                }
+                if (listed > 0) {
+                    sb.append(", ");
+                }
+                sb.append(entry.player());
+                listed++;
+            }
+            if (listed < group.size()) {
+                sb.append(lang.getMessage("discord.log.more", "count", String.valueOf(group.size() - listed)));
+            }
+            blocks.add(new Message(sb.append('\n').toString(), group.size()));
+        }
+        return blocks;
+    }
+}
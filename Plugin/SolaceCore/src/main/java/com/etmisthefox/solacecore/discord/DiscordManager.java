@@ -11,6 +11,7 @@ import net.dv8tion.jda.api.requests.GatewayIntent;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Map;
 
 public final class DiscordManager {
 
@@ -18,9 +19,10 @@ public final class DiscordManager {
     private final SolaceCore plugin;
     private final Database database;
     private final LanguageManager lang;
-    private JDA jda;
+    private volatile JDA jda;
     private TextChannel logsChannel;
-    private DiscordCommandHandler commandHandler;
+    private volatile DiscordLogBatcher logBatcher;
+    private volatile DiscordCommandHandler commandHandler;
 
     public DiscordManager(SolaceCore plugin, Database database, LanguageManager lang) {
         this.plugin = plugin;
@@ -33,7 +35,8 @@ public final class DiscordManager {
         return instance;
     }
 
-    public void initialize() throws InterruptedException {
+    // Gateway login and the logs channel; doesn't touch the database, so it runs while the schema is migrated
+    public void connect() throws InterruptedException {
         if (jda != null && jda.getStatus() != JDA.Status.SHUTDOWN) {
             plugin.getLogger().warning("Discord manager is already initialized, skipping duplicate init.");
             return;
@@ -41,11 +44,26 @@ public final class DiscordManager {
 
         String token = plugin.getConfig().getString("discord_bot.token");
         String logsChannelId = plugin.getConfig().getString("discord_bot.logs_channel_id");
+
+        // Assigned before waiting, so shutdown() can stop a connection still in its handshake
+        jda = JDABuilder.create(token, GatewayIntent.getIntents(0)).build();
+        jda.awaitReady();
+
+        if (logsChannelId != null && !logsChannelId.isEmpty()) {
+            logsChannel = jda.getTextChannelById(logsChannelId);
+            if (logsChannel == null) {
+                plugin.getLogger().warning("Discord logs channel with ID " + logsChannelId + " not found!");
+            } else {
+                logBatcher = new DiscordLogBatcher(logsChannel, lang, plugin.getConfig().getConfigurationSection("discord_bot.log_batching"), plugin.getLogger());
+            }
+        }
+    }
+
+    // Bot name and avatar (the avatar is downloaded here); nothing waits for this
+    public void updateProfile() {
         String botName = plugin.getConfig().getString("discord_bot.bot_username");
         String botAvatarUrl = plugin.getConfig().getString("discord_bot.bot_avatar_url");
 
-        jda = JDABuilder.create(token, GatewayIntent.getIntents(0)).build().awaitReady();
-
         // Set bot name if configured
         if (botName != null && !botName.isEmpty()) {
             jda.getSelfUser().getManager().setName(botName).queue(
@@ -56,56 +74,42 @@ public final class DiscordManager {
 
         // Set bot avatar if configured
         if (botAvatarUrl != null && !botAvatarUrl.isEmpty()) {
-            try {
-                URL url = new URL(botAvatarUrl);
-                InputStream inputStream = url.openStream();
+            try (InputStream inputStream = new URL(botAvatarUrl).openStream()) {
                 Icon icon = Icon.from(inputStream);
                 jda.getSelfUser().getManager().setAvatar(icon).queue(
                     success -> plugin.getLogger().info("Discord bot avatar updated from URL: " + botAvatarUrl),
                     error -> plugin.getLogger().warning("Failed to set bot avatar: " + error.getMessage())
                 );
-                inputStream.close();
             } catch (Exception e) {
                 plugin.getLogger().warning("Failed to load bot avatar from URL: " + botAvatarUrl + " - " + e.getMessage());
             }
         }
+    }
 
-        if (logsChannelId != null && !logsChannelId.isEmpty()) {
-            logsChannel = jda.getTextChannelById(logsChannelId);
-            if (logsChannel == null) {
-                plugin.getLogger().warning("Discord logs channel with ID " + logsChannelId + " not found!");
-            }
-        }
-
+    // Slash commands use the database, so this runs once the schema is ready
+    public void registerCommands() {
         // Remove old guild-scoped commands so users don't see duplicates (global + guild).
         jda.getGuilds().forEach(guild -> guild.updateCommands().queue());
 
-        commandHandler = new DiscordCommandHandler(database, lang);
+        commandHandler = new DiscordCommandHandler(database, lang, plugin.getConfig().getInt("discord_bot.command_threads", 2));
         commandHandler.registerCommands(jda);
 
         jda.addEventListener(commandHandler);
     }
 
+    // Batched: see DiscordLogBatcher
     public void logActionToDiscord(String actionType, String operator, String targetPlayer, String reason, String duration) {
-        if (logsChannel == null) {
+        DiscordLogBatcher batcher = logBatcher;
+        if (batcher == null) {
             return;
         }
 
-        String embed = formatActionLog(actionType, operator, targetPlayer, reason, duration);
-        logsChannel.sendMessage(embed).queue();
+        batcher.submit(new DiscordLogBatcher.Entry(actionType, operator, targetPlayer, reason, duration, System.currentTimeMillis() / 1000));
     }
 
-    private String formatActionLog(String actionType, String operator, String targetPlayer, String reason, String duration) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("**").append(actionType).append("**\n");
-        sb.append("**").append(lang.getMessage("discord.log.operator")).append(":** ").append(operator).append("\n");
-        sb.append("**").append(lang.getMessage("discord.log.player")).append(":** ").append(targetPlayer).append("\n");
-        sb.append("**").append(lang.getMessage("discord.log.reason")).append(":** ").append(reason != null ? reason : lang.getMessage("discord.log.na")).append("\n");
-        if (duration != null) {
-            sb.append("**").append(lang.getMessage("discord.log.duration")).append(":** ").append(duration).append("\n");
-        }
-        sb.append("**").append(lang.getMessage("discord.log.time")).append(":** <t:").append(System.currentTimeMillis() / 1000).append(":R>\n");
-        return sb.toString();
+    public Map<String, DiscordCommandHandler.CommandMetrics> getCommandMetrics() {
+        DiscordCommandHandler handler = commandHandler;
+        return handler != null ? handler.getMetrics() : Map.of();
     }
 
     public JDA getJDA() {
@@ -113,11 +117,17 @@ public final class DiscordManager {
     }
 
     public void shutdown() {
+        if (jda != null && commandHandler != null) {
+            jda.removeEventListener(commandHandler);
+            commandHandler.shutdown();
+            commandHandler = null;
+        }
+        // Send buffered logs (including those of the commands above) while JDA is still up
+        if (logBatcher != null) {
+            logBatcher.shutdown();
+            logBatcher = null;
+        }
         if (jda != null) {
-            if (commandHandler != null) {
-                jda.removeEventListener(commandHandler);
-                commandHandler = null;
-            }
             jda.shutdown();
             jda = null;
             logsChannel = null;
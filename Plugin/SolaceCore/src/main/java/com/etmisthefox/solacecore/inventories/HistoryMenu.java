@@ -0,0 +1,173 @@
+package com.etmisthefox.solacecore.inventories;
+
+import com.etmisthefox.inv.ClickableItem;
+import com.etmisthefox.inv.InventoryManager;
+import com.etmisthefox.inv.SmartInventory;
+import com.etmisthefox.inv.content.AsyncInventoryProvider;
+import com.etmisthefox.inv.content.InventoryContents;
+import com.etmisthefox.inv.content.Pagination;
+import com.etmisthefox.solacecore.database.Database;
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import com.etmisthefox.solacecore.models.Punishment;
+import com.etmisthefox.solacecore.utils.TimeUtil;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.Plugin;
+
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Full punishment history of one player, page by page. load() only counts the rows; each page is read
+// with LIMIT/OFFSET by the pagination's loader (the next page is prefetched) and drawn by update().
+public record HistoryMenu(Database database, LanguageManager lang, Plugin plugin, InventoryManager inventoryManager, Player target) implements AsyncInventoryProvider<Integer> {
+
+    // Inner 4x7 area inside the border
+    private static final int ROWS = 4;
+    private static final int COLUMNS = 7;
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+
+    public static SmartInventory getInventory(Database database, LanguageManager lang, Plugin plugin, InventoryManager inventoryManager, Player target) {
+        return SmartInventory.builder()
+                .id("historyMenu")
+                .provider(new HistoryMenu(database, lang, plugin, inventoryManager, target))
+                .size(6, 9)
+                .title(lang.getMessage("gui.history_menu.title", "player", target.getName()))
+                .manager(inventoryManager)
+                .build();
+    }
+
+    @Override
+    public void init(Player player, InventoryContents contents) {
+        // Fill Border -> Black Stained Glass Pane
+        contents.fillBorders(MenuItems.empty(MenuItems.Item.BORDER));
+
+        // Back -> Arrow
+        contents.set(5, 0, MenuItems.of(MenuItems.Item.BACK, e -> MainMenu.getInventory(database, lang, plugin, inventoryManager, target).open(player)));
+
+        // Until the count arrives
+        contents.set(2, 4, ClickableItem.empty(loadingItem()));
+    }
+
+    @Override
+    public CompletableFuture<Integer> load(Player player, InventoryContents contents) {
+        String targetName = target.getName();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return database.countPunishmentsByName(targetName);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return 0;
+            }
+        }, database.getExecutor());
+    }
+
+    @Override
+    public void loaded(Player player, InventoryContents contents, Integer total) {
+        String targetName = target.getName();
+        contents.pagination()
+                .setItemsPerPage(ROWS * COLUMNS)
+                .setItems(total, (offset, limit) -> CompletableFuture.supplyAsync(() -> loadPage(targetName, offset, limit), database.getExecutor()));
+        render(contents);
+    }
+
+    // Runs after a page arrived (Pagination marks the contents dirty)
+    @Override
+    public void update(Player player, InventoryContents contents) {
+        render(contents);
+    }
+
+    private ClickableItem[] loadPage(String targetName, int offset, int limit) {
+        try {
+            List<Punishment> punishments = database.getPunishmentsByName(targetName, offset, limit);
+            ClickableItem[] items = new ClickableItem[punishments.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = ClickableItem.empty(punishmentItem(punishments.get(i)));
+            }
+            return items;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ClickableItem[0];
+        }
+    }
+
+    private void render(InventoryContents contents) {
+        Pagination pagination = contents.pagination();
+        ClickableItem[] items = pagination.getPageItems();
+
+        // fillRect only draws the outline, the whole inner area is cleared here
+        for (int i = 0; i < ROWS * COLUMNS; i++) {
+            contents.set(1 + i / COLUMNS, 1 + i % COLUMNS, null);
+        }
+        if (!pagination.isPageLoaded()) {
+            contents.set(2, 4, ClickableItem.empty(loadingItem()));
+        } else if (items.length == 0) {
+            contents.set(2, 4, ClickableItem.empty(noneItem()));
+        } else {
+            for (int i = 0; i < items.length && i < ROWS * COLUMNS; i++) {
+                contents.set(1 + i / COLUMNS, 1 + i % COLUMNS, items[i]);
+            }
+        }
+
+        // Previous / Next -> Arrow, border pane when there is no such page
+        contents.set(5, 3, pagination.isFirst()
+                ? MenuItems.empty(MenuItems.Item.BORDER)
+                : MenuItems.of(MenuItems.Item.PREVIOUS, e -> {
+                    pagination.previous();
+                    render(contents);
+                }));
+        contents.set(5, 5, pagination.isLast()
+                ? MenuItems.empty(MenuItems.Item.BORDER)
+                : MenuItems.of(MenuItems.Item.NEXT, e -> {
+                    pagination.next();
+                    render(contents);
+                }));
+    }
+
+    private ItemStack punishmentItem(Punishment p) {
+        String rawType = p.getPunishmentType() != null ? p.getPunishmentType().toLowerCase() : null;
+        String typeLabel = rawType != null ? lang.getMessage("gui.common.punishment_type." + rawType) : null;
+        if (typeLabel == null) typeLabel = lang.getMessage("gui.common.unknown");
+
+        ItemStack item = new ItemStack(p.getIsActive() ? Material.RED_CONCRETE : Material.GRAY_CONCRETE);
+        ItemMeta meta = item.getItemMeta();
+        meta.displayName(Component.text(typeLabel + " " + (p.getIsActive() ? lang.getMessage("gui.common.active_tag") : lang.getMessage("gui.common.inactive_tag"))));
+
+        List<Component> lore = new ArrayList<>();
+        String reason = p.getReason() != null && !p.getReason().isEmpty() ? p.getReason() : lang.getMessage("gui.common.not_set");
+        lore.add(lang.getComponent("gui.history_menu.reason", "value", reason));
+        if (p.getOperator() != null && !p.getOperator().isEmpty()) {
+            lore.add(lang.getComponent("gui.history_menu.operator", "value", p.getOperator()));
+        }
+        if (p.getStart() != null) {
+            lore.add(lang.getComponent("gui.history_menu.date", "value", p.getStart().format(DATE_FMT)));
+        }
+        if (p.getDuration() != null && p.getDuration() > 0) {
+            lore.add(lang.getComponent("gui.history_menu.duration", "value", TimeUtil.formatDuration(p.getDuration())));
+        }
+        meta.lore(lore);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private ItemStack loadingItem() {
+        ItemStack paper = MenuItems.copy(MenuItems.Item.PUNISHMENTS);
+        ItemMeta meta = paper.getItemMeta();
+        meta.lore(List.of(lang.getComponent("gui.common.loading")));
+        paper.setItemMeta(meta);
+        return paper;
+    }
+
+    private ItemStack noneItem() {
+        ItemStack paper = MenuItems.copy(MenuItems.Item.PUNISHMENTS);
+        ItemMeta meta = paper.getItemMeta();
+        meta.lore(List.of(lang.getComponent("gui.main_menu.punishments.none")));
+        paper.setItemMeta(meta);
+        return paper;
+    }
+}
@@ -4,14 +4,13 @@ import com.etmisthefox.inv.ClickableItem;
 import com.etmisthefox.inv.InventoryManager;
 import com.etmisthefox.inv.SmartInventory;
 import com.etmisthefox.inv.content.InventoryContents;
-import com.etmisthefox.inv.content.InventoryProvider;
+import com.etmisthefox.inv.content.AsyncInventoryProvider;
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.enums.PunishmentType;
 import com.etmisthefox.solacecore.managers.LanguageManager;
 import com.etmisthefox.solacecore.models.Punishment;
 import com.etmisthefox.solacecore.utils.TimeUtil;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -22,8 +21,15 @@ import org.bukkit.inventory.meta.SkullMeta;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-public record MainMenu(Database database, LanguageManager lang, Plugin plugin, InventoryManager inventoryManager, Player target) implements InventoryProvider {
+public record MainMenu(Database database, LanguageManager lang, Plugin plugin, InventoryManager inventoryManager, Player target) implements AsyncInventoryProvider<MainMenu.History> {
+
+    // Lines shown on the history paper
+    private static final int MAX_LINES = 15;
+
+    // Newest punishments for the lore plus the total, so players with a long history don't load every row
+    public record History(List<Punishment> recent, int total) { }
 
     public static SmartInventory getInventory(Database database, LanguageManager lang, Plugin plugin, InventoryManager inventoryManager, Player target) {
         return SmartInventory.builder()
@@ -38,18 +44,10 @@ public record MainMenu(Database database, LanguageManager lang, Plugin plugin, I
     @Override
     public void init(Player player, InventoryContents contents) {
         // Fill Border -> Black Stained Glass Pane
-        ItemStack blackStainedGlassPane = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        ItemMeta blackStainedGlassPaneMeta = blackStainedGlassPane.getItemMeta();
-        blackStainedGlassPaneMeta.displayName(Component.text(" "));
-        blackStainedGlassPane.setItemMeta(blackStainedGlassPaneMeta);
-        contents.fillBorders(ClickableItem.empty(blackStainedGlassPane));
+        contents.fillBorders(MenuItems.empty(MenuItems.Item.BORDER));
 
         // Close -> Barrier
-        ItemStack barrier = new ItemStack(Material.BARRIER);
-        ItemMeta barrierMeta = barrier.getItemMeta();
-        barrierMeta.displayName(Component.text(lang.getMessage("gui.main_menu.close")));
-        barrier.setItemMeta(barrierMeta);
-        contents.set(5, 4, ClickableItem.of(barrier, e -> player.closeInventory()));
+        contents.set(5, 4, MenuItems.of(MenuItems.Item.CLOSE, e -> player.closeInventory()));
 
         // Player's Head
         ItemStack playerHead = new ItemStack(Material.PLAYER_HEAD);
@@ -59,23 +57,54 @@ public record MainMenu(Database database, LanguageManager lang, Plugin plugin, I
         playerHead.setItemMeta(playerHeadMeta);
         contents.set(1, 4, ClickableItem.empty(playerHead));
 
-        // Build punishments lore for adjacent paper
-        List<Punishment> punishments = new ArrayList<>();
-        try {
-            punishments = database.getPunishmentsByName(target.getName());
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        // Paper with punishments next to the head, filled in by loaded() once the query finishes; click opens the full history
+        contents.set(1, 5, ClickableItem.of(punishmentsItem(List.of(lang.getComponent("gui.common.loading"))), e -> openHistory(player)));
+
+        // Moderation items (consistent block type: CONCRETE variants)
+        // Kick -> White Concrete
+        contents.set(2, 2, MenuItems.of(MenuItems.Item.KICK, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.KICK).open(player)));
+
+        // Ban -> Red Concrete
+        contents.set(2, 3, MenuItems.of(MenuItems.Item.BAN, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.BAN).open(player)));
 
+        // Tempban -> Orange Concrete
+        contents.set(2, 4, MenuItems.of(MenuItems.Item.TEMPBAN, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.TEMPBAN).open(player)));
+
+        // IP Ban -> Black Concrete
+        contents.set(2, 5, MenuItems.of(MenuItems.Item.IPBAN, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.IPBAN).open(player)));
+
+        // Mute -> Gray Concrete
+        contents.set(3, 2, MenuItems.of(MenuItems.Item.MUTE, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.MUTE).open(player)));
+
+        // Tempmute -> Light Gray Concrete
+        contents.set(3, 3, MenuItems.of(MenuItems.Item.TEMPMUTE, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.TEMPMUTE).open(player)));
+
+        // Warn -> Yellow Concrete
+        contents.set(3, 4, MenuItems.of(MenuItems.Item.WARN, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.WARN).open(player)));
+    }
+
+    @Override
+    public CompletableFuture<History> load(Player player, InventoryContents contents) {
+        String targetName = target.getName();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return new History(database.getPunishmentsByName(targetName, 0, MAX_LINES), database.countPunishmentsByName(targetName));
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return new History(List.of(), 0);
+            }
+        }, database.getExecutor());
+    }
+
+    @Override
+    public void loaded(Player player, InventoryContents contents, History history) {
+        // Build punishments lore for adjacent paper
         List<Component> punishLore = new ArrayList<>();
-        if (punishments.isEmpty()) {
-            punishLore.add(Component.text(lang.getMessage("gui.main_menu.punishments.none")));
+        if (history.recent().isEmpty()) {
+            punishLore.add(lang.getComponent("gui.main_menu.punishments.none"));
         } else {
-            punishLore.add(Component.text(lang.getMessage("gui.main_menu.punishments.header")));
-            int maxLines = 15;
-            int count = 0;
-            for (Punishment p : punishments) {
-                if (count >= maxLines) break;
+            punishLore.add(lang.getComponent("gui.main_menu.punishments.header"));
+            for (Punishment p : history.recent()) {
                 StringBuilder sb = new StringBuilder();
                 String rawType = p.getPunishmentType() != null ? p.getPunishmentType().toLowerCase() : null;
                 String typeLabel = rawType != null ? lang.getMessage("gui.common.punishment_type." + rawType) : null;
@@ -92,70 +121,26 @@ public record MainMenu(Database database, LanguageManager lang, Plugin plugin, I
                 }
                 sb.append(p.getIsActive() ? " " + lang.getMessage("gui.common.active_tag") : " " + lang.getMessage("gui.common.inactive_tag"));
                 punishLore.add(Component.text(sb.toString()));
-                count++;
             }
-            if (punishments.size() > maxLines) {
-                int more = punishments.size() - maxLines;
+            if (history.total() > history.recent().size()) {
+                int more = history.total() - history.recent().size();
                 punishLore.add(Component.text(lang.getMessage("gui.main_menu.punishments.more", "count", String.valueOf(more))));
             }
+            punishLore.add(lang.getComponent("gui.main_menu.punishments.open_history"));
         }
 
-        // Paper with punishments next to the head
-        ItemStack punishPaper = new ItemStack(Material.PAPER);
-        ItemMeta punishMeta = punishPaper.getItemMeta();
-        punishMeta.displayName(Component.text(lang.getMessage("gui.main_menu.punishments.title"), NamedTextColor.YELLOW));
-        punishMeta.lore(punishLore);
-        punishPaper.setItemMeta(punishMeta);
-        contents.set(1, 5, ClickableItem.empty(punishPaper));
-
-        // Moderation items (consistent block type: CONCRETE variants)
-        // Kick -> White Concrete
-        ItemStack kickItem = new ItemStack(Material.WHITE_CONCRETE);
-        ItemMeta kickMeta = kickItem.getItemMeta();
-        kickMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.kick"), NamedTextColor.WHITE));
-        kickItem.setItemMeta(kickMeta);
-        contents.set(2, 2, ClickableItem.of(kickItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.KICK).open(player)));
-
-        // Ban -> Red Concrete
-        ItemStack banItem = new ItemStack(Material.RED_CONCRETE);
-        ItemMeta banMeta = banItem.getItemMeta();
-        banMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.ban"), NamedTextColor.RED));
-        banItem.setItemMeta(banMeta);
-        contents.set(2, 3, ClickableItem.of(banItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.BAN).open(player)));
-
-        // Tempban -> Orange Concrete
-        ItemStack tempbanItem = new ItemStack(Material.ORANGE_CONCRETE);
-        ItemMeta tempbanMeta = tempbanItem.getItemMeta();
-        tempbanMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.tempban"), NamedTextColor.GOLD));
-        tempbanItem.setItemMeta(tempbanMeta);
-        contents.set(2, 4, ClickableItem.of(tempbanItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.TEMPBAN).open(player)));
-
-        // IP Ban -> Black Concrete
-        ItemStack ipbanItem = new ItemStack(Material.BLACK_CONCRETE);
-        ItemMeta ipbanMeta = ipbanItem.getItemMeta();
-        ipbanMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.ipban"), NamedTextColor.DARK_GRAY));
-        ipbanItem.setItemMeta(ipbanMeta);
-        contents.set(2, 5, ClickableItem.of(ipbanItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.IPBAN).open(player)));
-
-        // Mute -> Gray Concrete
-        ItemStack muteItem = new ItemStack(Material.GRAY_CONCRETE);
-        ItemMeta muteMeta = muteItem.getItemMeta();
-        muteMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.mute"), NamedTextColor.GRAY));
-        muteItem.setItemMeta(muteMeta);
-        contents.set(3, 2, ClickableItem.of(muteItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.MUTE).open(player)));
+        contents.set(1, 5, ClickableItem.of(punishmentsItem(punishLore), e -> openHistory(player)));
+    }
 
-        // Tempmute -> Light Gray Concrete
-        ItemStack tempmuteItem = new ItemStack(Material.LIGHT_GRAY_CONCRETE);
-        ItemMeta tempmuteMeta = tempmuteItem.getItemMeta();
-        tempmuteMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.tempmute"), NamedTextColor.GRAY));
-        tempmuteItem.setItemMeta(tempmuteMeta);
-        contents.set(3, 3, ClickableItem.of(tempmuteItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.TEMPMUTE).open(player)));
+    private void openHistory(Player player) {
+        HistoryMenu.getInventory(database, lang, plugin, inventoryManager, target).open(player);
+    }
 
-        // Warn -> Yellow Concrete
-        ItemStack warnItem = new ItemStack(Material.YELLOW_CONCRETE);
-        ItemMeta warnMeta = warnItem.getItemMeta();
-        warnMeta.displayName(Component.text(lang.getMessage("gui.main_menu.actions.warn"), NamedTextColor.YELLOW));
-        warnItem.setItemMeta(warnMeta);
-        contents.set(3, 4, ClickableItem.of(warnItem, e -> PunishmentMenu.getInventory(database, lang, plugin, inventoryManager, target, PunishmentType.WARN).open(player)));
+    private static ItemStack punishmentsItem(List<Component> lore) {
+        ItemStack punishPaper = MenuItems.copy(MenuItems.Item.PUNISHMENTS);
+        ItemMeta punishMeta = punishPaper.getItemMeta();
+        punishMeta.lore(lore);
+        punishPaper.setItemMeta(punishMeta);
+        return punishPaper;
     }
 }
@@ -0,0 +1,91 @@
+package com.etmisthefox.solacecore.inventories;
+
+import com.etmisthefox.inv.ClickableItem;
+import com.etmisthefox.solacecore.managers.LanguageManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Static GUI items built once for the loaded language and rebuilt when the language file reloads.
+// Inventory.setItem copies the stack, so the shared stacks are never handed to anything that mutates them.
+public final class MenuItems {
+
+    public enum Item {
+        BORDER(Material.BLACK_STAINED_GLASS_PANE, lang -> Component.text(" ")),
+        CLOSE(Material.BARRIER, lang -> lang.getComponent("gui.main_menu.close")),
+        BACK(Material.ARROW, lang -> lang.getComponent("gui.punishment_menu.back")),
+        PREVIOUS(Material.ARROW, lang -> lang.getComponent("gui.history_menu.previous")),
+        NEXT(Material.ARROW, lang -> lang.getComponent("gui.history_menu.next")),
+        ACCEPT(Material.GREEN_WOOL, lang -> lang.getComponent("gui.punishment_menu.accept")),
+        PUNISHMENTS(Material.PAPER, lang -> Component.text(lang.getMessage("gui.main_menu.punishments.title"), NamedTextColor.YELLOW)),
+        TIME(Material.CLOCK, lang -> lang.getComponent("gui.punishment_menu.time.title")),
+        REASON(Material.WRITABLE_BOOK, lang -> lang.getComponent("gui.punishment_menu.reason.title")),
+        KICK(Material.WHITE_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.kick"), NamedTextColor.WHITE)),
+        BAN(Material.RED_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.ban"), NamedTextColor.RED)),
+        TEMPBAN(Material.ORANGE_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.tempban"), NamedTextColor.GOLD)),
+        IPBAN(Material.BLACK_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.ipban"), NamedTextColor.DARK_GRAY)),
+        MUTE(Material.GRAY_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.mute"), NamedTextColor.GRAY)),
+        TEMPMUTE(Material.LIGHT_GRAY_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.tempmute"), NamedTextColor.GRAY)),
+        WARN(Material.YELLOW_CONCRETE, lang -> Component.text(lang.getMessage("gui.main_menu.actions.warn"), NamedTextColor.YELLOW));
+
+        private final Material material;
+        private final Function<LanguageManager, Component> displayName;
+
+        Item(Material material, Function<LanguageManager, Component> displayName) {
+            this.material = material;
+            this.displayName = displayName;
+        }
+    }
+
+    private record Snapshot(Map<Item, ItemStack> stacks, Map<Item, ClickableItem> empties) { }
+
+    private static LanguageManager languageManager;
+    private static volatile Snapshot snapshot;
+
+    public static void init(LanguageManager lang) {
+        languageManager = lang;
+        rebuild();
+        lang.addReloadListener(MenuItems::rebuild);
+    }
+
+    // Shared stack, do not modify - use copy() for items that get a per-open lore
+    public static ItemStack get(Item item) {
+        return snapshot.stacks().get(item);
+    }
+
+    public static ItemStack copy(Item item) {
+        return get(item).clone();
+    }
+
+    // Shared ClickableItem without an action, e.g. the border
+    public static ClickableItem empty(Item item) {
+        return snapshot.empties().get(item);
+    }
+
+    public static ClickableItem of(Item item, Consumer<InventoryClickEvent> action) {
+        return ClickableItem.of(get(item), action);
+    }
+
+    private static void rebuild() {
+        Map<Item, ItemStack> stacks = new EnumMap<>(Item.class);
+        Map<Item, ClickableItem> empties = new EnumMap<>(Item.class);
+        for (Item item : Item.values()) {
+            ItemStack stack = new ItemStack(item.material);
+            ItemMeta meta = stack.getItemMeta();
+            meta.displayName(item.displayName.apply(languageManager));
+            stack.setItemMeta(meta);
+
+            stacks.put(item, stack);
+            empties.put(item, ClickableItem.empty(stack));
+        }
+        snapshot = new Snapshot(stacks, empties);
+    }
+}
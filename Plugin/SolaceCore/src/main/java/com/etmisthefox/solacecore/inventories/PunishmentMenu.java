@@ -57,18 +57,10 @@ public record PunishmentMenu(Database database, LanguageManager lang, Plugin plu
     @Override
     public void init(Player player, InventoryContents contents) {
         // Fill Border -> Black Stained Glass Pane
-        ItemStack blackStainedGlassPane = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        ItemMeta blackStainedGlassPaneMeta = blackStainedGlassPane.getItemMeta();
-        blackStainedGlassPaneMeta.displayName(Component.text(" "));
-        blackStainedGlassPane.setItemMeta(blackStainedGlassPaneMeta);
-        contents.fillBorders(ClickableItem.empty(blackStainedGlassPane));
+        contents.fillBorders(MenuItems.empty(MenuItems.Item.BORDER));
 
         // Back -> Arrow
-        ItemStack arrow = new ItemStack(Material.ARROW);
-        ItemMeta arrowMeta = arrow.getItemMeta();
-        arrowMeta.displayName(Component.text(lang.getMessage("gui.punishment_menu.back")));
-        arrow.setItemMeta(arrowMeta);
-        contents.set(5, 0, ClickableItem.of(arrow, e -> MainMenu.getInventory(database, lang, plugin, inventoryManager, target).open(player)));
+        contents.set(5, 0, MenuItems.of(MenuItems.Item.BACK, e -> MainMenu.getInventory(database, lang, plugin, inventoryManager, target).open(player)));
 
         // Player's Head
         ItemStack playerHead = new ItemStack(Material.PLAYER_HEAD);
@@ -80,13 +72,12 @@ public record PunishmentMenu(Database database, LanguageManager lang, Plugin plu
 
         // Time -> Clock (only for TEMP actions)
         if (punishmentType == PunishmentType.TEMPBAN || punishmentType == PunishmentType.TEMPMUTE) {
-            ItemStack clock = new ItemStack(Material.CLOCK);
+            ItemStack clock = MenuItems.copy(MenuItems.Item.TIME);
             ItemMeta clockMeta = clock.getItemMeta();
-            clockMeta.displayName(Component.text(lang.getMessage("gui.punishment_menu.time.title")));
             Long currentDuration = getDuration(player);
             String formatted = currentDuration != null ? TimeUtil.formatDuration(currentDuration) : lang.getMessage("gui.common.not_set");
             List<Component> clockLore = new ArrayList<>();
-            clockLore.add(Component.text(lang.getMessage("gui.punishment_menu.time.lore_line1")));
+            clockLore.add(lang.getComponent("gui.punishment_menu.time.lore_line1"));
             clockLore.add(Component.text(lang.getMessage("gui.punishment_menu.time.current", "value", formatted)));
             clockMeta.lore(clockLore);
             clock.setItemMeta(clockMeta);
@@ -114,12 +105,11 @@ public record PunishmentMenu(Database database, LanguageManager lang, Plugin plu
         }
 
         // Book & Quill -> Reason
-        ItemStack bookAndQuill = new ItemStack(Material.WRITABLE_BOOK);
+        ItemStack bookAndQuill = MenuItems.copy(MenuItems.Item.REASON);
         ItemMeta bookAndQuillMeta = bookAndQuill.getItemMeta();
-        bookAndQuillMeta.displayName(Component.text(lang.getMessage("gui.punishment_menu.reason.title")));
         String currentReason = getReasonOrDefault(player);
         List<Component> reasonLore = new ArrayList<>();
-        reasonLore.add(Component.text(lang.getMessage("gui.punishment_menu.reason.lore_line1")));
+        reasonLore.add(lang.getComponent("gui.punishment_menu.reason.lore_line1"));
         reasonLore.add(Component.text(lang.getMessage("gui.punishment_menu.reason.current", "value", currentReason)));
         bookAndQuillMeta.lore(reasonLore);
         bookAndQuill.setItemMeta(bookAndQuillMeta);
@@ -147,11 +137,7 @@ public record PunishmentMenu(Database database, LanguageManager lang, Plugin plu
         }));
 
         // Accept -> Green Wool
-        ItemStack greenWool = new ItemStack(Material.GREEN_WOOL);
-        ItemMeta greenWoolMeta = greenWool.getItemMeta();
-        greenWoolMeta.displayName(Component.text(lang.getMessage("gui.punishment_menu.accept")));
-        greenWool.setItemMeta(greenWoolMeta);
-        contents.set(5, 8, ClickableItem.of(greenWool, e -> {
+        contents.set(5, 8, MenuItems.of(MenuItems.Item.ACCEPT, e -> {
             String reason = getReasonOrDefault(player);
             Long duration = getDuration(player);
             switch (punishmentType) {
@@ -1,76 +1,131 @@
 package com.etmisthefox.solacecore.listeners;
 
+import com.etmisthefox.solacecore.cache.BanIndex;
+import com.etmisthefox.solacecore.cache.MuteCache;
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.enums.PunishmentType;
 import com.etmisthefox.solacecore.managers.LanguageManager;
 import com.etmisthefox.solacecore.models.Punishment;
 import com.etmisthefox.solacecore.utils.DisconnectScreenUtil;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.etmisthefox.solacecore.utils.TimeUtil.formatDuration;
 
 public final class ConnectionListener implements Listener {
 
     private final Database database;
+    private final BanIndex banIndex;
+    private final MuteCache muteCache;
     private final LanguageManager lang;
+    private final CompletableFuture<Void> ready;
+    private final long readyTimeoutMs;
 
-    public ConnectionListener(Database database, LanguageManager lang) {
+    // ready = schema migrated and ban index loaded; logins wait for it at most readyTimeoutMs
+    public ConnectionListener(Database database, BanIndex banIndex, MuteCache muteCache, LanguageManager lang, CompletableFuture<Void> ready, long readyTimeoutMs) {
         this.database = database;
+        this.banIndex = banIndex;
+        this.muteCache = muteCache;
         this.lang = lang;
+        this.ready = ready;
+        this.readyTimeoutMs = readyTimeoutMs;
+    }
+
+    // Runs on the login thread, so waiting here holds up only the players joining during startup
+    private boolean awaitReady() {
+        if (ready.isDone()) {
+            return !ready.isCompletedExceptionally();
+        }
+        try {
+            ready.get(readyTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onConnect(AsyncPlayerPreLoginEvent event) {
+        if (!awaitReady()) {
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Component.text(lang.getMessage("login.starting_up")));
+            return;
+        }
+
+        String ipAddress = event.getAddress().getHostAddress();
+
+        // players upsert (IP + last login) is not needed for the decision, it is batched in the background
+        database.queuePlayerUpsert(event.getName(), event.getUniqueId().toString(), ipAddress);
+
+        banIndex.recordLogin(event.getName(), ipAddress);
+        Punishment punishment = banIndex.findBan(event.getName(), event.getUniqueId(), ipAddress);
+        if (punishment == null) {
+            return;
+        }
+
+        PunishmentType type = PunishmentType.valueOf(punishment.getPunishmentType().toUpperCase());
+        String message = switch (type) {
+            case BAN -> lang.getMessage("player_messages.ban");
+            case TEMPBAN -> lang.getMessage("player_messages.tempban");
+            case IPBAN -> lang.getMessage("player_messages.ipban");
+            case TEMPIPBAN -> lang.getMessage("player_messages.tempipban");
+            default -> null;
+        };
+        if (message == null) {
+            return;
+        }
+        LocalDateTime expiresAt = punishment.getExpiresAt();
+        String remaining = expiresAt != null ? formatDuration(Duration.between(LocalDateTime.now(), expiresAt).getSeconds()) : null;
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED,
+                DisconnectScreenUtil.formatDisconnectScreen(false,
+                        message,
+                        punishment.getReason(),
+                        punishment.getOperator(),
+                        remaining)
+        );
+    }
+
+    // Runs after every other plugin had its say, so only players that really join get cached
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onConnectResult(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
         try {
-            database.addPlayer(event.getName(), event.getUniqueId().toString(), event.getAddress().getHostAddress());
-            List<Punishment> punishments = database.getActivePunishmentsByName(event.getName());
-            List<Punishment> ipPunishments = database.getActivePunishmentsByIp(event.getAddress().getHostAddress());
-            for (Punishment punishment : punishments) {
-                PunishmentType type = PunishmentType.valueOf(punishment.getPunishmentType().toUpperCase());
-                switch (type) {
-                    case PunishmentType.BAN -> event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED,
-                            DisconnectScreenUtil.formatDisconnectScreen(false,
-                                    lang.getMessage("player_messages.ban"),
-                                    punishment.getReason(),
-                                    punishment.getOperator(),
-                                    null)
-                    );
-                    case PunishmentType.TEMPBAN -> event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED,
-                            DisconnectScreenUtil.formatDisconnectScreen(false,
-                                    lang.getMessage("player_messages.tempban"),
-                                    punishment.getReason(),
-                                    punishment.getOperator(),
-                                    formatDuration(Duration.between(LocalDateTime.now(), punishment.getStart().plusSeconds(punishment.getDuration())).getSeconds()))
-                    );
-                }
-            }
-            for (Punishment ipPunishment : ipPunishments) {
-                PunishmentType type = PunishmentType.valueOf(ipPunishment.getPunishmentType().toUpperCase());
-                switch (type) {
-                    case PunishmentType.IPBAN -> event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED,
-                        DisconnectScreenUtil.formatDisconnectScreen(false,
-                                lang.getMessage("player_messages.ipban"),
-                                ipPunishment.getReason(),
-                                ipPunishment.getOperator(),
-                                null));
-                    case PunishmentType.TEMPIPBAN -> event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED,
-                            DisconnectScreenUtil.formatDisconnectScreen(false,
-                                    lang.getMessage("player_messages.tempipban"),
-                                    ipPunishment.getReason(),
-                                    ipPunishment.getOperator(),
-                                    formatDuration(Duration.between(LocalDateTime.now(), ipPunishment.getStart().plusSeconds(ipPunishment.getDuration())).getSeconds())));
-                }
-            }
+            muteCache.load(event.getUniqueId(), event.getName());
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
+
+    // Whitelist, full server or another plugin can still refuse the login; no quit event follows then.
+    // A refused duplicate login must not drop the entry of the player who is already online.
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLoginResult(PlayerLoginEvent event) {
+        if (event.getResult() == PlayerLoginEvent.Result.ALLOWED || Bukkit.getPlayer(event.getPlayer().getUniqueId()) != null) {
+            return;
+        }
+        muteCache.drop(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        muteCache.drop(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
 }
@@ -0,0 +1,179 @@
+package com.etmisthefox.solacecore.logging;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Structured log for the moderation paths, written off the calling thread.
+ * <p>
+ * Callers put an event into a bounded ring buffer and return; one writer thread formats it as a
+ * single {@code event key=value ...} line and hands it to the plugin logger. Every category has its
+ * own minimum level and a sample rate for events below WARNING (warnings and errors are always kept).
+ * When the buffer is full the event is counted as dropped instead of blocking the caller.
+ */
+public final class ModerationLog {
+
+    public enum Category {
+        CONNECTION,
+        REQUEST,
+        COMMAND
+    }
+
+    private record Event(Category category, Level level, String name, Object[] fields, Throwable error) { }
+
+    private final Logger log;
+    private final BlockingQueue<Event> buffer;
+    private final Map<Category, Level> levels = new EnumMap<>(Category.class);
+    private final Map<Category, Double> sampling = new EnumMap<>(Category.class);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ModerationLog(ConfigurationSection config, Logger log) {
+        this.log = log;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(16, config != null ? config.getInt("buffer_size", 4096) : 4096));
+        for (Category category : Category.values()) {
+            String key = category.name().toLowerCase(Locale.ROOT);
+            levels.put(category, parseLevel(config != null ? config.getString("levels." + key) : null, Level.INFO));
+            double rate = config != null ? config.getDouble("sample." + key, 1.0) : 1.0;
+            sampling.put(category, Math.max(0.0, Math.min(1.0, rate)));
+        }
+
+        this.writer = new Thread(this::drain, "SolaceCore-Log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Level.parse(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    // Level + sampling check; call before building expensive fields
+    public boolean isEnabled(Category category, Level level) {
+        if (level.intValue() < levels.get(category).intValue()) {
+            return false;
+        }
+        if (level.intValue() >= Level.WARNING.intValue()) {
+            return true;
+        }
+        double rate = sampling.get(category);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    // fields are key, value pairs
+    public void log(Category category, Level level, String event, Object... fields) {
+        enqueue(category, level, event, null, fields);
+    }
+
+    // SEVERE with the stack trace, never sampled away
+    public void error(Category category, String event, Throwable error, Object... fields) {
+        enqueue(category, Level.SEVERE, event, error, fields);
+    }
+
+    private void enqueue(Category category, Level level, String event, Throwable error, Object[] fields) {
+        if (!running || !isEnabled(category, level)) {
+            return;
+        }
+        if (!buffer.offer(new Event(category, level, event, fields, error))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // Writes what is still buffered, then stops the writer thread
+    public void shutdown() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Event> batch = new ArrayList<>(64);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Event first = running ? buffer.poll(1, TimeUnit.SECONDS) : buffer.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, 63);
+                for (Event event : batch) {
+                    write(event);
+                }
+            } catch (InterruptedException e) {
+                // shutdown(): loop once more without waiting to flush the rest
+            } catch (Throwable t) {
+                log.log(Level.WARNING, "Moderation log writer failed", t);
+            } finally {
+                batch.clear();
+            }
+        }
+        long lost = dropped.get();
+        if (lost > 0) {
+            log.warning("Moderation log dropped " + lost + " events because its buffer was full.");
+        }
+    }
+
+    private void write(Event event) {
+        StringBuilder line = new StringBuilder(96)
+                .append('[').append(event.category().name().toLowerCase(Locale.ROOT)).append("] ")
+                .append(event.name());
+        Object[] fields = event.fields();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            Object value = fields[i + 1];
+            if (value == null) {
+                continue;
+            }
+            line.append(' ').append(fields[i]).append('=');
+            appendValue(line, value);
+        }
+        // Paper drops records below INFO, the category level above already decided that FINE is wanted
+        Level level = event.level().intValue() < Level.INFO.intValue() ? Level.INFO : event.level();
+        log.log(level, line.toString(), event.error());
+    }
+
+    // Values with spaces or quotes are quoted so the line stays machine readable
+    private static void appendValue(StringBuilder line, Object value) {
+        String text = String.valueOf(value);
+        boolean quote = text.isEmpty() || text.indexOf(' ') >= 0 || text.indexOf('"') >= 0 || text.indexOf('=') >= 0;
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            line.append(c == '\n' ? ' ' : c);
+        }
+        line.append('"');
+    }
+}
@@ -1,5 +1,6 @@
 package com.etmisthefox.solacecore.managers;
 
+import net.kyori.adventure.text.Component;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
@@ -8,16 +9,25 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.jar.JarFile;
 
 public final class LanguageManager {
 
     private final Plugin plugin;
     private final File langFolder;
-    private final FileConfiguration langConfig;
+    private final String language;
+    private FileConfiguration langConfig;
+    // Swapped as a whole on reload, so readers on other threads never see a half-built map
+    private volatile Map<String, MessageTemplate> templates;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
 
     public LanguageManager(Plugin plugin, String language) {
         this.plugin = plugin;
+        this.language = language;
         this.langFolder = new File(plugin.getDataFolder(), "languages");
 
         if (!langFolder.exists()) {
@@ -29,6 +39,7 @@ public final class LanguageManager {
 
         File langFile = new File(langFolder, language + ".yml");
         langConfig = YamlConfiguration.loadConfiguration(langFile);
+        templates = compile(langConfig);
     }
 
     private void copyAllLanguageFiles() {
@@ -74,16 +85,61 @@ public final class LanguageManager {
         }
     }
 
+    // Messages only, nothing is copied to disk (benchmarks, tooling)
+    public LanguageManager(FileConfiguration langConfig) {
+        this.plugin = null;
+        this.langFolder = null;
+        this.language = null;
+        this.langConfig = langConfig;
+        this.templates = compile(langConfig);
+    }
+
+    // Re-reads the language file from the data folder and recompiles all messages
+    public void reload() {
+        if (langFolder != null) {
+            langConfig = YamlConfiguration.loadConfiguration(new File(langFolder, language + ".yml"));
+        }
+        templates = compile(langConfig);
+        reloadListeners.forEach(Runnable::run);
+    }
+
+    // Caches built from messages (GUI items) register here to rebuild after reload()
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
     public String getMessage(String path) {
-        return /*ColorAPI.colorize("{#FF8C00>}&l[SolaceCore]{#FFFFFF<}&r") + " " + */langConfig.getString(path);
+        MessageTemplate template = templates.get(path);
+        return /*ColorAPI.colorize("{#FF8C00>}&l[SolaceCore]{#FFFFFF<}&r") + " " + */template != null ? template.raw() : null;
     }
 
     public String getMessage(String path, String... placeholders) {
-        String msg = getMessage(path);
+        MessageTemplate template = templates.get(path);
+        return template != null ? template.render(placeholders) : null;
+    }
+
+    // Cached for messages without placeholders, so GUI items and chat blocks don't rebuild it
+    public Component getComponent(String path) {
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return Component.text(path);
+        }
+        Component component = template.component();
+        return component != null ? component : Component.text(template.raw());
+    }
 
-        for (int i = 0; i < placeholders.length; i += 2) {
-            msg = msg.replace("{" + placeholders[i] + "}", placeholders[i + 1]);
+    public Component getComponent(String path, String... placeholders) {
+        MessageTemplate template = templates.get(path);
+        return template != null ? Component.text(template.render(placeholders)) : Component.text(path);
+    }
+
+    private static Map<String, MessageTemplate> compile(FileConfiguration config) {
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String key : config.getKeys(true)) {
+            if (config.isString(key)) {
+                compiled.put(key, MessageTemplate.compile(config.getString(key)));
+            }
         }
-        return msg;
+        return Map.copyOf(compiled);
     }
 }
@@ -0,0 +1,119 @@
+package com.etmisthefox.solacecore.managers;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A language message compiled once at load time.
+ * <p>
+ * {@code "Player {player} was banned: {reason}"} is stored as the literals
+ * {@code ["Player ", " was banned: ", ""]} and the slots {@code ["player", "reason"]}, so rendering
+ * is a single append pass into a presized builder. Messages without placeholders are returned
+ * as-is and keep a cached {@link Component}.
+ */
+public final class MessageTemplate {
+
+    private final String raw;
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+    private final Component component;
+
+    private MessageTemplate(String raw, String[] literals, String[] slots) {
+        this.raw = raw;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.component = slots.length == 0 ? Component.text(raw) : null;
+    }
+
+    public static MessageTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while (i < raw.length()) {
+            int open = raw.indexOf('{', i);
+            if (open < 0) {
+                break;
+            }
+            int close = raw.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            if (isName(raw, open + 1, close)) {
+                literals.add(raw.substring(literalStart, open));
+                slots.add(raw.substring(open + 1, close));
+                literalStart = close + 1;
+                i = close + 1;
+            } else {
+                // "{" that does not start a placeholder, e.g. JSON or a stray brace
+                i = open + 1;
+            }
+        }
+        literals.add(raw.substring(literalStart));
+        return new MessageTemplate(raw, literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    public String raw() {
+        return raw;
+    }
+
+    public boolean hasPlaceholders() {
+        return slots.length > 0;
+    }
+
+    // Null for messages with placeholders; those are rendered per call
+    public Component component() {
+        return component;
+    }
+
+    // placeholders are name/value pairs; a slot without a value is left as "{name}"
+    public String render(String... placeholders) {
+        if (slots.length == 0) {
+            return raw;
+        }
+
+        int capacity = literalLength;
+        for (int p = 1; p < placeholders.length; p += 2) {
+            String value = placeholders[p];
+            capacity += value != null ? value.length() : 4;
+        }
+
+        StringBuilder out = new StringBuilder(capacity);
+        for (int s = 0; s < slots.length; s++) {
+            out.append(literals[s]);
+            String slot = slots[s];
+            int p = 0;
+            while (p + 1 < placeholders.length && !slot.equals(placeholders[p])) {
+                p += 2;
+            }
+            if (p + 1 < placeholders.length) {
+                out.append(placeholders[p + 1]);
+            } else {
+                out.append('{').append(slot).append('}');
+            }
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    private static boolean isName(String raw, int from, int to) {
+        if (from == to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = raw.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+package com.etmisthefox.solacecore.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the plugin's startup stages concurrently, each one as soon as the stages it depends on are done.
+ * <p>
+ * Every stage is a future that other code can wait on (the login listener waits for the caches, not for
+ * Discord). A failed stage fails everything that depends on it; those stages are not run. When all stages
+ * are finished the timeline (start offset, duration and thread of every stage) is logged.
+ */
+public final class StartupOrchestrator {
+
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    private static final long NOT_RUN = Long.MIN_VALUE;
+
+    private static final class Stage {
+
+        private final String name;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        // nanoTime may be negative, so "not run" is MIN_VALUE
+        private volatile long startedNanos = NOT_RUN;
+        private volatile long endedNanos = NOT_RUN;
+        private volatile String thread;
+        private volatile Throwable error;
+
+        private Stage(String name) {
+            this.name = name;
+        }
+    }
+
+    private final Logger log;
+    private final long createdNanos = System.nanoTime();
+    private final ExecutorService executor;
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final List<Stage> order = new ArrayList<>();
+
+    public StartupOrchestrator(Logger log, int threads) {
+        this.log = log;
+        AtomicInteger workerId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "SolaceCore-Startup-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Void> stage(String name, Step step, String... dependsOn) {
+        return stage(name, executor, step, dependsOn);
+    }
+
+    // Dependencies must be registered first; executor is e.g. the main thread for Bukkit registrations
+    public synchronized CompletableFuture<Void> stage(String name, Executor runOn, Step step, String... dependsOn) {
+        Stage stage = new Stage(name);
+        if (stages.putIfAbsent(name, stage) != null) {
+            throw new IllegalArgumentException("Startup stage " + name + " is already registered");
+        }
+        order.add(stage);
+
+        CompletableFuture<?>[] dependencies = new CompletableFuture<?>[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) {
+            dependencies[i] = get(dependsOn[i]);
+        }
+        CompletableFuture.allOf(dependencies).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                stage.error = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                stage.future.completeExceptionally(stage.error);
+                return;
+            }
+            try {
+                runOn.execute(() -> run(stage, step));
+            } catch (Exception e) {
+                stage.error = e;
+                stage.future.completeExceptionally(e);
+            }
+        });
+        return stage.future;
+    }
+
+    private void run(Stage stage, Step step) {
+        stage.thread = Thread.currentThread().getName();
+        stage.startedNanos = System.nanoTime();
+        try {
+            step.run();
+            stage.endedNanos = System.nanoTime();
+            stage.future.complete(null);
+        } catch (Throwable t) {
+            stage.endedNanos = System.nanoTime();
+            stage.error = t;
+            log.log(Level.SEVERE, "Startup stage '" + stage.name + "' failed", t);
+            stage.future.completeExceptionally(t);
+        }
+    }
+
+    public CompletableFuture<Void> get(String name) {
+        Stage stage = stages.get(name);
+        if (stage == null) {
+            throw new IllegalArgumentException("Unknown startup stage " + name);
+        }
+        return stage.future;
+    }
+
+    public boolean isReady(String name) {
+        CompletableFuture<Void> future = get(name);
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    // Work that already ran synchronously (e.g. the main-thread part of onEnable), shown in the timeline
+    public synchronized void record(String name, long startedNanos) {
+        Stage stage = new Stage(name);
+        stage.thread = Thread.currentThread().getName();
+        stage.startedNanos = startedNanos;
+        stage.endedNanos = System.nanoTime();
+        stage.future.complete(null);
+        stages.put(name, stage);
+        order.add(stage);
+    }
+
+    // Logs the timeline once every stage registered so far has finished, successfully or not
+    public synchronized CompletableFuture<Void> whenAllDone() {
+        CompletableFuture<?>[] futures = order.stream().map(stage -> stage.future.handle((ok, e) -> null)).toArray(CompletableFuture[]::new);
+        List<Stage> snapshot = List.copyOf(order);
+        return CompletableFuture.allOf(futures).thenRun(() -> logTimeline(snapshot));
+    }
+
+    private void logTimeline(List<Stage> snapshot) {
+        // Recorded spans (onEnable) may have started before this object existed
+        long origin = createdNanos;
+        long end = createdNanos;
+        boolean failed = false;
+        for (Stage stage : snapshot) {
+            if (stage.startedNanos != NOT_RUN) {
+                origin = Math.min(origin, stage.startedNanos);
+            }
+            if (stage.endedNanos != NOT_RUN) {
+                end = Math.max(end, stage.endedNanos);
+            }
+            failed |= stage.error != null;
+        }
+        StringBuilder sb = new StringBuilder("Startup ").append(failed ? "finished with errors" : "complete")
+                .append(" in ").append(millis(end - origin)).append(" ms:");
+        for (Stage stage : snapshot) {
+            sb.append("\n  ").append(String.format("%-18s", stage.name));
+            if (stage.startedNanos == NOT_RUN) {
+                sb.append("skipped, a dependency failed");
+                continue;
+            }
+            sb.append(String.format("+%6d ms %7d ms  %s", millis(stage.startedNanos - origin), millis(stage.endedNanos - stage.startedNanos), stage.thread));
+            if (stage.error != null) {
+                sb.append("  FAILED: ").append(stage.error.getMessage());
+            }
+        }
+        log.log(failed ? Level.WARNING : Level.INFO, sb.toString());
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    // onDisable during startup: stages that have not run yet are abandoned
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.etmisthefox.solacecore.models;
+
+// Active ban together with the identity of the banned player (uuid / last known IP)
+public record ActiveBan(Punishment punishment, PlayerRecord player) { }
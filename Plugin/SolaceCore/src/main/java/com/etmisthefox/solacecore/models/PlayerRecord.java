@@ -0,0 +1,6 @@
+package com.etmisthefox.solacecore.models;
+
+import java.time.LocalDateTime;
+
+// Row of the players table
+public record PlayerRecord(String name, String uuid, String ipAddress, LocalDateTime lastLogin) { }
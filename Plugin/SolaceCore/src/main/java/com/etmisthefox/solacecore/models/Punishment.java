@@ -99,6 +99,22 @@ public final class Punishment {
         this.isActive = isActive;
     }
 
+    // Instant at which a temporary punishment stops applying; null for permanent ones
+    public LocalDateTime getExpiresAt() {
+        if (end != null) {
+            return end;
+        }
+        if (start != null && duration != null) {
+            return start.plusSeconds(duration);
+        }
+        return null;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        LocalDateTime expiresAt = getExpiresAt();
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
     public double getRemainingDuration() {
         if (duration == null) {
             return -1; // Permanentní trest
@@ -0,0 +1,33 @@
+package com.etmisthefox.solacecore.models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Filter + order + keyset cursor for Database.findPunishments / countPunishments.
+// Rows are ordered by (start, id); after is the last row of the previous page, offset is only used without a cursor.
+public record PunishmentQuery(String playerName, List<String> types, boolean newestFirst, Cursor after, int offset, int limit) {
+
+    // Position of a row in the (start, id) order; start may be null for rows written without it
+    public record Cursor(LocalDateTime start, int id) { }
+
+    public PunishmentQuery {
+        types = types != null ? List.copyOf(types) : List.of();
+    }
+
+    public static PunishmentQuery byPlayer(String playerName, List<String> types, int limit) {
+        return new PunishmentQuery(playerName, types, true, null, 0, limit);
+    }
+
+    public PunishmentQuery after(Cursor cursor) {
+        return new PunishmentQuery(playerName, types, newestFirst, cursor, 0, limit);
+    }
+
+    public PunishmentQuery offset(int offset) {
+        return new PunishmentQuery(playerName, types, newestFirst, null, offset, limit);
+    }
+
+    // Same filter in the opposite order, used to walk back to the previous page from its first row
+    public PunishmentQuery reversed() {
+        return new PunishmentQuery(playerName, types, !newestFirst, after, offset, limit);
+    }
+}
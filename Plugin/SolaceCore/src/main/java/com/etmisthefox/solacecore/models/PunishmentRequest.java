@@ -0,0 +1,6 @@
+package com.etmisthefox.solacecore.models;
+
+import com.etmisthefox.solacecore.enums.PunishmentType;
+
+// One target of a bulk action; durationSeconds only for the temp types
+public record PunishmentRequest(PunishmentType type, String playerName, String reason, Long durationSeconds) { }
@@ -0,0 +1,28 @@
+package com.etmisthefox.solacecore.models;
+
+// Outcome of PunishmentUtil.executePunishment; message is the feedback that was sent to the sender
+public record PunishmentResult(Status status, Punishment punishment, String message) {
+
+    public enum Status {
+        SUCCESS,
+        PLAYER_NOT_FOUND,
+        PROTECTED,
+        ALREADY_BANNED,
+        ALREADY_MUTED,
+        INVALID_TIME,
+        NO_PERMISSION,
+        DATABASE_ERROR
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    public static PunishmentResult success(Punishment punishment, String message) {
+        return new PunishmentResult(Status.SUCCESS, punishment, message);
+    }
+
+    public static PunishmentResult failure(Status status, String message) {
+        return new PunishmentResult(status, null, message);
+    }
+}
@@ -6,7 +6,6 @@ import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
-import java.util.List;
 import java.util.function.IntFunction;
 
 public final class PaginationUtil {
@@ -41,12 +40,6 @@ public final class PaginationUtil {
         return new PageInfo(page, totalPages, fromIndex, toIndex, totalItems, pageSize);
     }
 
-    public static <T> List<T> pageItems(List<T> all, PageInfo info) {
-        if (all == null || all.isEmpty()) return all;
-        if (info.fromIndex >= all.size()) return all.subList(0, Math.min(all.size(), info.pageSize));
-        return all.subList(info.fromIndex, Math.min(info.toIndex, all.size()));
-    }
-
     public static Component buildHeader(String titlePrefix, String subject, PageInfo info) {
         return buildHeader(titlePrefix, subject, info, "Page");
     }
@@ -64,20 +57,30 @@ public final class PaginationUtil {
     }
 
     public static Component buildFooter(PageInfo info, IntFunction<String> commandForPage, String previousPageLabel, String nextPageLabel) {
+        return buildFooter(
+                info.page > 1 ? commandForPage.apply(info.page - 1) : null,
+                info.page < info.totalPages ? commandForPage.apply(info.page + 1) : null,
+                previousPageLabel,
+                nextPageLabel
+        );
+    }
+
+    // For cursor paging the caller builds both commands itself; null hides that arrow
+    public static Component buildFooter(String previousPageCommand, String nextPageCommand, String previousPageLabel, String nextPageLabel) {
         Component footer = Component.empty();
-        if (info.page > 1) {
+        if (previousPageCommand != null) {
             Component prev = Component.text("<<", NamedTextColor.YELLOW, TextDecoration.BOLD)
                     .hoverEvent(HoverEvent.showText(Component.text(previousPageLabel, NamedTextColor.GRAY)))
-                    .clickEvent(ClickEvent.runCommand(commandForPage.apply(info.page - 1)));
+                    .clickEvent(ClickEvent.runCommand(previousPageCommand));
             footer = footer.append(prev);
         }
-        if (info.page > 1 && info.page < info.totalPages) {
+        if (previousPageCommand != null && nextPageCommand != null) {
             footer = footer.append(Component.text(" ", NamedTextColor.DARK_GRAY));
         }
-        if (info.page < info.totalPages) {
+        if (nextPageCommand != null) {
             Component next = Component.text(">>", NamedTextColor.YELLOW, TextDecoration.BOLD)
                     .hoverEvent(HoverEvent.showText(Component.text(nextPageLabel, NamedTextColor.GRAY)))
-                    .clickEvent(ClickEvent.runCommand(commandForPage.apply(info.page + 1)));
+                    .clickEvent(ClickEvent.runCommand(nextPageCommand));
             footer = footer.append(next);
         }
         return footer;
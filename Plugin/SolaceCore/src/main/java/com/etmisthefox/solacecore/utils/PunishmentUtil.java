@@ -1,19 +1,28 @@
 package com.etmisthefox.solacecore.utils;
 
+import com.etmisthefox.solacecore.SolaceCore;
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.discord.DiscordManager;
 import com.etmisthefox.solacecore.enums.PunishmentType;
 import com.etmisthefox.solacecore.managers.LanguageManager;
 import com.etmisthefox.solacecore.managers.PermissionManager;
 import com.etmisthefox.solacecore.models.Punishment;
+import com.etmisthefox.solacecore.models.PunishmentRequest;
+import com.etmisthefox.solacecore.models.PunishmentResult;
+import com.etmisthefox.solacecore.models.PunishmentResult.Status;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public final class PunishmentUtil {
 
@@ -24,37 +33,39 @@ public final class PunishmentUtil {
         }
     }
 
-    public static void executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String reason, Long durationSeconds) {
-        executePunishment(database, lang, punishmentType, sender, target, null, reason, durationSeconds, "ingame");
+    public static CompletableFuture<PunishmentResult> executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String reason, Long durationSeconds) {
+        return executePunishment(database, lang, punishmentType, sender, target, null, reason, durationSeconds, "ingame");
     }
 
-    public static void executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String reason, Long durationSeconds, String source) {
-        executePunishment(database, lang, punishmentType, sender, target, null, reason, durationSeconds, source, null);
+    public static CompletableFuture<PunishmentResult> executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String reason, Long durationSeconds, String source) {
+        return executePunishment(database, lang, punishmentType, sender, target, null, reason, durationSeconds, source, null);
     }
 
-    public static void executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String targetNameOverride, String reason, Long durationSeconds) {
-        executePunishment(database, lang, punishmentType, sender, target, targetNameOverride, reason, durationSeconds, "ingame", null);
+    public static CompletableFuture<PunishmentResult> executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String targetNameOverride, String reason, Long durationSeconds) {
+        return executePunishment(database, lang, punishmentType, sender, target, targetNameOverride, reason, durationSeconds, "ingame", null);
     }
 
-    public static void executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String targetNameOverride, String reason, Long durationSeconds, String source) {
-        executePunishment(database, lang, punishmentType, sender, target, targetNameOverride, reason, durationSeconds, source, null);
+    public static CompletableFuture<PunishmentResult> executePunishment(Database database, LanguageManager lang, PunishmentType punishmentType, CommandSender sender, Player target, String targetNameOverride, String reason, Long durationSeconds, String source) {
+        return executePunishment(database, lang, punishmentType, sender, target, targetNameOverride, reason, durationSeconds, source, null);
     }
 
     // New safe API for commands: supports console sender and offline targets (target may be null)
-    public static void executePunishment(Database database, LanguageManager languageManager, PunishmentType punishmentType, CommandSender sender, Player target, String reason, Long durationSeconds, String source, String operatorOverride) {
-        executePunishment(database, languageManager, punishmentType, sender, target, null, reason, durationSeconds, source, operatorOverride);
+    public static CompletableFuture<PunishmentResult> executePunishment(Database database, LanguageManager languageManager, PunishmentType punishmentType, CommandSender sender, Player target, String reason, Long durationSeconds, String source, String operatorOverride) {
+        return executePunishment(database, languageManager, punishmentType, sender, target, null, reason, durationSeconds, source, operatorOverride);
     }
 
-    // New safe API for commands: supports console sender and offline targets by explicit target name
-    public static void executePunishment(Database database, LanguageManager languageManager, PunishmentType punishmentType, CommandSender sender, Player target, String targetNameOverride, String reason, Long durationSeconds, String source, String operatorOverride) {
+    // New safe API for commands: supports console sender and offline targets by explicit target name.
+    // Validation runs on the caller thread, the database work on Database's executor, and kicks,
+    // messages and broadcasts back on the main thread. The future completes on the main thread,
+    // or right away on the caller thread when validation fails.
+    public static CompletableFuture<PunishmentResult> executePunishment(Database database, LanguageManager languageManager, PunishmentType punishmentType, CommandSender sender, Player target, String targetNameOverride, String reason, Long durationSeconds, String source, String operatorOverride) {
         PermissionManager perms = new PermissionManager();
 
         // Validate target presence for punishments that require the player to be online
         switch (punishmentType) {
             case KICK, MUTE, TEMPMUTE, WARN -> {
                 if (target == null) {
-                    sender.sendMessage(languageManager.getMessage("errors.player_not_found"));
-                    return;
+                    return reject(sender, Status.PLAYER_NOT_FOUND, languageManager.getMessage("errors.player_not_found"));
                 }
             }
             default -> {
@@ -71,45 +82,210 @@ public final class PunishmentUtil {
             targetName = target.getName();
         }
         if (targetName == null || targetName.isBlank()) {
-            sender.sendMessage(languageManager.getMessage("errors.player_not_found"));
+            return reject(sender, Status.PLAYER_NOT_FOUND, languageManager.getMessage("errors.player_not_found"));
+        }
+
+        // Target protection (handles null target internally)
+        if (perms.hasProtection(target, punishmentType)) {
+            String message = switch (punishmentType) {
+                case KICK -> languageManager.getMessage("punishment.kick_protection", "player", targetName);
+                case BAN, TEMPBAN, IPBAN, TEMPIPBAN -> languageManager.getMessage("punishment.ban_protection", "player", targetName);
+                case MUTE, TEMPMUTE -> languageManager.getMessage("punishment.mute_protection", "player", targetName);
+                case WARN -> languageManager.getMessage("punishment.warn_protection", "player", targetName);
+            };
+            return reject(sender, Status.PROTECTED, message);
+        }
+
+        if (punishmentType == PunishmentType.TEMPIPBAN && !sender.hasPermission("solacecore.tempipban")) {
+            return reject(sender, Status.NO_PERMISSION, languageManager.getMessage("errors.no_permission"));
+        }
+        if ((punishmentType == PunishmentType.TEMPBAN || punishmentType == PunishmentType.TEMPIPBAN || punishmentType == PunishmentType.TEMPMUTE)
+                && (durationSeconds == null || durationSeconds <= 0)) {
+            return reject(sender, Status.INVALID_TIME, languageManager.getMessage("errors.invalid_time"));
+        }
+
+        Punishment punishment = createPunishment(punishmentType, targetName, reason, operator, durationSeconds);
+        String name = targetName;
+        Executor mainThread = Bukkit.getScheduler().getMainThreadExecutor(JavaPlugin.getPlugin(SolaceCore.class));
+
+        return CompletableFuture.supplyAsync(() -> persist(database, punishmentType, punishment), database.getExecutor())
+                .exceptionally(e -> {
+                    e.printStackTrace();
+                    return Status.DATABASE_ERROR;
+                })
+                .thenApplyAsync(status -> {
+                    if (status != Status.SUCCESS) {
+                        String message = switch (status) {
+                            case ALREADY_BANNED -> languageManager.getMessage("punishment.already_banned", "player", name);
+                            case ALREADY_MUTED -> languageManager.getMessage("punishment.already_muted", "player", name);
+                            case DATABASE_ERROR -> languageManager.getMessage("errors.database_error");
+                            default -> languageManager.getMessage("errors.player_not_found");
+                        };
+                        sender.sendMessage(message);
+                        return PunishmentResult.failure(status, message);
+                    }
+                    return PunishmentResult.success(punishment, apply(languageManager, punishmentType, target, punishment, durationSeconds));
+                }, mainThread);
+    }
+
+    // Bulk bans (ban/tempban/ipban/tempipban) for bot waves. Protection checks run in one main-thread pass,
+    // existence + duplicate checks in one query and all inserts in one batch, then one main-thread pass kicks
+    // online targets and sends a single broadcast. Results are in the order of requests.
+    public static CompletableFuture<List<PunishmentResult>> executeBulk(Database database, LanguageManager languageManager, CommandSender sender, List<PunishmentRequest> requests, String operator, String broadcastReason) {
+        Executor mainThread = Bukkit.getScheduler().getMainThreadExecutor(JavaPlugin.getPlugin(SolaceCore.class));
+        PunishmentResult[] results = new PunishmentResult[requests.size()];
+        Player[] targets = new Player[requests.size()];
+        Punishment[] punishments = new Punishment[requests.size()];
+
+        return CompletableFuture.runAsync(() -> screenBulk(languageManager, sender, requests, results, targets), mainThread)
+                .thenRunAsync(() -> persistBulk(database, languageManager, requests, operator, results, punishments), database.getExecutor())
+                .thenApplyAsync(ignored -> {
+                    int applied = 0;
+                    for (int i = 0; i < requests.size(); i++) {
+                        if (results[i] != null) {
+                            continue;
+                        }
+                        applyBulk(languageManager, requests.get(i).type(), targets[i], punishments[i]);
+                        Punishment punishment = punishments[i];
+                        String formattedTime = punishment.getDuration() != null ? TimeUtil.formatDuration(punishment.getDuration()) : null;
+                        results[i] = PunishmentResult.success(punishment, successMessage(languageManager, requests.get(i).type(), punishment.getPlayerName(), punishment.getReason(), punishment.getOperator(), formattedTime));
+                        applied++;
+                    }
+                    if (applied > 0) {
+                        Bukkit.broadcast(Component.text(languageManager.getMessage("broadcast.bulk_banned", "count", String.valueOf(applied), "operator", operator, "reason", broadcastReason)));
+                    }
+                    return List.of(results);
+                }, mainThread);
+    }
+
+    // Main thread: request validation and target protection
+    private static void screenBulk(LanguageManager languageManager, CommandSender sender, List<PunishmentRequest> requests, PunishmentResult[] results, Player[] targets) {
+        PermissionManager perms = new PermissionManager();
+        for (int i = 0; i < requests.size(); i++) {
+            PunishmentRequest request = requests.get(i);
+            PunishmentType type = request.type();
+            String name = request.playerName();
+            if (name == null || name.isBlank()) {
+                results[i] = PunishmentResult.failure(Status.PLAYER_NOT_FOUND, languageManager.getMessage("errors.player_not_found"));
+                continue;
+            }
+            if (type == PunishmentType.TEMPIPBAN && !sender.hasPermission("solacecore.tempipban")) {
+                results[i] = PunishmentResult.failure(Status.NO_PERMISSION, languageManager.getMessage("errors.no_permission"));
+                continue;
+            }
+            if ((type == PunishmentType.TEMPBAN || type == PunishmentType.TEMPIPBAN)
+                    && (request.durationSeconds() == null || request.durationSeconds() <= 0)) {
+                results[i] = PunishmentResult.failure(Status.INVALID_TIME, languageManager.getMessage("errors.invalid_time"));
+                continue;
+            }
+            Player target = Bukkit.getPlayerExact(name);
+            if (perms.hasProtection(target, type)) {
+                results[i] = PunishmentResult.failure(Status.PROTECTED, languageManager.getMessage("punishment.ban_protection", "player", name));
+                continue;
+            }
+            targets[i] = target;
+        }
+    }
+
+    // Database executor: one validation query and one batched insert for everything that passed screening
+    private static void persistBulk(Database database, LanguageManager languageManager, List<PunishmentRequest> requests, String operator, PunishmentResult[] results, Punishment[] punishments) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] == null) {
+                names.add(requests.get(i).playerName());
+            }
+        }
+        if (names.isEmpty()) {
             return;
         }
 
-        // FK safeguard: reject punishments for players that were never stored in players table.
+        List<Punishment> batch = new ArrayList<>();
         try {
-            if (!database.playerExistsByName(targetName)) {
-                sender.sendMessage(languageManager.getMessage("errors.player_not_found"));
-                return;
+            Map<String, Boolean> banned = database.getBanStates(names);
+            for (int i = 0; i < requests.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                PunishmentRequest request = requests.get(i);
+                Boolean state = banned.get(request.playerName().toLowerCase());
+                if (state == null) {
+                    results[i] = PunishmentResult.failure(Status.PLAYER_NOT_FOUND, languageManager.getMessage("errors.player_not_found"));
+                } else if (state) {
+                    results[i] = PunishmentResult.failure(Status.ALREADY_BANNED, languageManager.getMessage("punishment.already_banned", "player", request.playerName()));
+                } else {
+                    punishments[i] = createPunishment(request.type(), request.playerName(), request.reason(), operator, request.durationSeconds());
+                    batch.add(punishments[i]);
+                }
             }
+            database.createPunishments(batch);
         } catch (SQLException e) {
             e.printStackTrace();
-            sender.sendMessage(languageManager.getMessage("errors.player_not_found"));
-            return;
+            String message = languageManager.getMessage("errors.database_error");
+            for (int i = 0; i < requests.size(); i++) {
+                if (results[i] == null) {
+                    results[i] = PunishmentResult.failure(Status.DATABASE_ERROR, message);
+                }
+            }
         }
+    }
 
-        // Target protection (handles null target internally)
-        if (perms.hasProtection(target, punishmentType)) {
-            switch (punishmentType) {
-                case KICK -> sender.sendMessage(languageManager.getMessage("punishment.kick_protection", "player", targetName));
-                case BAN, TEMPBAN, IPBAN, TEMPIPBAN -> sender.sendMessage(languageManager.getMessage("punishment.ban_protection", "player", targetName));
-                case MUTE, TEMPMUTE -> sender.sendMessage(languageManager.getMessage("punishment.mute_protection", "player", targetName));
-                case WARN -> sender.sendMessage(languageManager.getMessage("punishment.warn_protection", "player", targetName));
+    // Main thread: kick and Discord log for one stored bulk punishment, the broadcast is shared
+    private static void applyBulk(LanguageManager languageManager, PunishmentType punishmentType, Player target, Punishment punishment) {
+        String formattedTime = punishment.getDuration() != null ? TimeUtil.formatDuration(punishment.getDuration()) : null;
+        String messageKey = switch (punishmentType) {
+            case IPBAN -> "player_messages.ipbanned";
+            case TEMPBAN -> "player_messages.tempbanned";
+            case TEMPIPBAN -> "player_messages.tempipban";
+            default -> "player_messages.banned";
+        };
+        if (target != null && target.isOnline()) {
+            target.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage(messageKey), punishment.getReason(), punishment.getOperator(), formattedTime));
+        }
+        logToDiscord(punishmentType.name(), punishment.getOperator(), punishment.getPlayerName(), punishment.getReason(), formattedTime);
+    }
+
+    private static CompletableFuture<PunishmentResult> reject(CommandSender sender, Status status, String message) {
+        sender.sendMessage(message);
+        return CompletableFuture.completedFuture(PunishmentResult.failure(status, message));
+    }
+
+    private static Punishment createPunishment(PunishmentType punishmentType, String targetName, String reason, String operator, Long durationSeconds) {
+        LocalDateTime start = LocalDateTime.now();
+        return switch (punishmentType) {
+            case BAN -> new Punishment(0, targetName, reason, operator, "ban", start, null, null, true);
+            case IPBAN -> new Punishment(0, targetName, reason, operator, "ipban", start, null, null, true);
+            case TEMPBAN -> new Punishment(0, targetName, reason, operator, "tempban", start, start.plusSeconds(durationSeconds), durationSeconds, true);
+            case TEMPIPBAN -> new Punishment(0, targetName, reason, operator, "tempipban", start, start.plusSeconds(durationSeconds), durationSeconds, true);
+            case MUTE -> new Punishment(0, targetName, reason, operator, "mute", start, null, null, true);
+            case TEMPMUTE -> new Punishment(0, targetName, reason, operator, "tempmute", start, null, durationSeconds, true);
+            case KICK -> new Punishment(0, targetName, reason, operator, "kick", start, null, null, false);
+            case WARN -> new Punishment(0, targetName, reason, operator, "warn", start, null, null, true);
+        };
+    }
+
+    // Database executor: existence + duplicate checks and the insert
+    private static Status persist(Database database, PunishmentType punishmentType, Punishment punishment) {
+        String targetName = punishment.getPlayerName();
+        try {
+            // FK safeguard: reject punishments for players that were never stored in players table.
+            if (!database.playerExistsByName(targetName)) {
+                return Status.PLAYER_NOT_FOUND;
             }
-            return;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return Status.PLAYER_NOT_FOUND;
         }
 
         // Prevent duplicate active punishments of same class (by name)
-        if (punishmentType == PunishmentType.BAN || punishmentType == PunishmentType.TEMPBAN || punishmentType == PunishmentType.IPBAN || punishmentType == PunishmentType.TEMPIPBAN || punishmentType == PunishmentType.MUTE || punishmentType == PunishmentType.TEMPMUTE) {
+        if (isBan(punishmentType) || isMute(punishmentType)) {
             try {
                 List<Punishment> punishments = database.getActivePunishmentsByName(targetName);
                 for (Punishment p : punishments) {
                     PunishmentType type = PunishmentType.valueOf(p.getPunishmentType().toUpperCase());
-                    if ((type.equals(PunishmentType.BAN) || type.equals(PunishmentType.TEMPBAN) || type.equals(PunishmentType.IPBAN) || type.equals(PunishmentType.TEMPIPBAN)) && (punishmentType == PunishmentType.BAN || punishmentType == PunishmentType.TEMPBAN || punishmentType == PunishmentType.IPBAN || punishmentType == PunishmentType.TEMPIPBAN)) {
-                        sender.sendMessage(languageManager.getMessage("punishment.already_banned", "player", targetName));
-                        return;
-                    } else if ((type.equals(PunishmentType.MUTE) || type.equals(PunishmentType.TEMPMUTE)) && (punishmentType == PunishmentType.MUTE || punishmentType == PunishmentType.TEMPMUTE)) {
-                        sender.sendMessage(languageManager.getMessage("punishment.already_muted", "player", targetName));
-                        return;
+                    if (isBan(type) && isBan(punishmentType)) {
+                        return Status.ALREADY_BANNED;
+                    } else if (isMute(type) && isMute(punishmentType)) {
+                        return Status.ALREADY_MUTED;
                     }
                 }
             } catch (SQLException e) {
@@ -117,131 +293,105 @@ public final class PunishmentUtil {
             }
         }
 
-        switch (punishmentType) {
+        try {
+            database.createPunishment(punishment);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return Status.DATABASE_ERROR;
+        }
+        return Status.SUCCESS;
+    }
+
+    // Main thread: everything that touches players, once the punishment is stored
+    private static String apply(LanguageManager languageManager, PunishmentType punishmentType, Player target, Punishment punishment, Long durationSeconds) {
+        String targetName = punishment.getPlayerName();
+        String reason = punishment.getReason();
+        String operator = punishment.getOperator();
+        String formattedTime = durationSeconds != null ? TimeUtil.formatDuration(durationSeconds) : null;
+        // The target may have logged out while the database was working
+        Player online = target != null && target.isOnline() ? target : null;
+
+        String broadcast = switch (punishmentType) {
             case BAN -> {
-                if (target != null) {
-                    target.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.banned"), reason, operator, null));
-                }
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "ban", LocalDateTime.now(), null, null, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                if (online != null) {
+                    online.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.banned"), reason, operator, null));
                 }
                 logToDiscord("BAN", operator, targetName, reason, null);
-                Bukkit.broadcast(Component.text(languageManager.getMessage("punishment.ban_success", "player", targetName, "reason", reason)));
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case IPBAN -> {
-                if (target != null) {
-                    target.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.ipbanned"), reason, operator, null));
-                }
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "ipban", LocalDateTime.now(), null, null, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                if (online != null) {
+                    online.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.ipbanned"), reason, operator, null));
                 }
                 logToDiscord("IPBAN", operator, targetName, reason, null);
-                Bukkit.broadcast(Component.text(languageManager.getMessage("punishment.ipban_success", "player", targetName, "reason", reason)));
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case TEMPIPBAN -> {
-                if (!sender.hasPermission("solacecore.tempipban")) {
-                    sender.sendMessage(languageManager.getMessage("errors.no_permission"));
-                    return;
-                }
-                if (durationSeconds == null || durationSeconds <= 0) {
-                    sender.sendMessage(languageManager.getMessage("errors.invalid_time"));
-                    return;
-                }
-                LocalDateTime start = LocalDateTime.now();
-                LocalDateTime end = start.plusSeconds(durationSeconds);
-                String formattedTime = TimeUtil.formatDuration(durationSeconds);
-                if (target != null) {
-                    target.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.tempipban"), reason, operator, formattedTime));
-                }
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "tempipban", start, end, durationSeconds, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                if (online != null) {
+                    online.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.tempipban"), reason, operator, formattedTime));
                 }
                 logToDiscord("TEMPIPBAN", operator, targetName, reason, formattedTime);
-                Bukkit.broadcast(Component.text(languageManager.getMessage("punishment.tempipban_success", "operator", operator, "player", targetName, "time", formattedTime, "reason", reason)));
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case TEMPBAN -> {
-                if (durationSeconds == null || durationSeconds <= 0) {
-                    sender.sendMessage(languageManager.getMessage("errors.invalid_time"));
-                    return;
-                }
-                LocalDateTime start = LocalDateTime.now();
-                LocalDateTime end = start.plusSeconds(durationSeconds);
-                String formattedTime = TimeUtil.formatDuration(durationSeconds);
-                if (target != null) {
-                    target.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.tempbanned"), reason, operator, formattedTime));
-                }
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "tempban", start, end, durationSeconds, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                if (online != null) {
+                    online.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.tempbanned"), reason, operator, formattedTime));
                 }
                 logToDiscord("TEMPBAN", operator, targetName, reason, formattedTime);
-                Bukkit.broadcast(Component.text(languageManager.getMessage("punishment.tempban_success", "operator", operator, "player", targetName, "time", formattedTime, "reason", reason)));
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case MUTE -> {
-                // target validated above to be non-null for MUTE
-                target.sendMessage(languageManager.getMessage("player_messages.muted", "reason", reason, "operator", operator));
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "mute", LocalDateTime.now(), null, null, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                if (online != null) {
+                    online.sendMessage(languageManager.getMessage("player_messages.muted", "reason", reason, "operator", operator));
                 }
                 logToDiscord("MUTE", operator, targetName, reason, null);
-                Bukkit.broadcast(Component.text(languageManager.getMessage("punishment.mute_success", "player", targetName, "reason", reason)));
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case TEMPMUTE -> {
-                if (durationSeconds == null || durationSeconds <= 0) {
-                    sender.sendMessage(languageManager.getMessage("errors.invalid_time"));
-                    return;
-                }
-                String formattedTime = TimeUtil.formatDuration(durationSeconds);
-                target.sendMessage(languageManager.getMessage("player_messages.tempmuted", "time", formattedTime, "reason", reason, "operator", operator));
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "tempmute", LocalDateTime.now(), null, durationSeconds, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                if (online != null) {
+                    online.sendMessage(languageManager.getMessage("player_messages.tempmuted", "time", formattedTime, "reason", reason, "operator", operator));
                 }
                 logToDiscord("TEMPMUTE", operator, targetName, reason, formattedTime);
-                Bukkit.broadcast(Component.text(languageManager.getMessage("punishment.tempmute_success", "operator", operator, "player", targetName, "time", formattedTime, "reason", reason)));
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case KICK -> {
-                // KICK requires online target (validated above)
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "kick", LocalDateTime.now(), null, null, false);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
                 logToDiscord("KICK", operator, targetName, reason, null);
-                // target validated above to be non-null for KICK
-                target.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.kicked"), reason, operator, null));
-                Bukkit.broadcast(Component.text(languageManager.getMessage("broadcast.player_kicked", "player", targetName, "reason", reason)));
+                if (online != null) {
+                    online.kick(DisconnectScreenUtil.formatDisconnectScreen(true, languageManager.getMessage("player_messages.kicked"), reason, operator, null));
+                }
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
             case WARN -> {
-                // WARN requires online target (validated above)
-                Punishment punishment = new Punishment(0, targetName, reason, operator, "warn", LocalDateTime.now(), null, null, true);
-                try {
-                    database.createPunishment(punishment);
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
                 logToDiscord("WARN", operator, targetName, reason, null);
-                // target validated above to be non-null for WARN
-                target.sendMessage(languageManager.getMessage("player_messages.warned", "reason", reason, "operator", operator));
-                Bukkit.broadcast(Component.text(languageManager.getMessage("broadcast.player_warned", "player", targetName, "reason", reason)));
+                if (online != null) {
+                    online.sendMessage(languageManager.getMessage("player_messages.warned", "reason", reason, "operator", operator));
+                }
+                yield successMessage(languageManager, punishmentType, targetName, reason, operator, formattedTime);
             }
-        }
+        };
+        Bukkit.broadcast(Component.text(broadcast));
+        return broadcast;
+    }
+
+    // Broadcast / reply text for a stored punishment, shared by single and bulk actions
+    private static String successMessage(LanguageManager languageManager, PunishmentType punishmentType, String targetName, String reason, String operator, String formattedTime) {
+        return switch (punishmentType) {
+            case BAN -> languageManager.getMessage("punishment.ban_success", "player", targetName, "reason", reason);
+            case IPBAN -> languageManager.getMessage("punishment.ipban_success", "player", targetName, "reason", reason);
+            case TEMPIPBAN -> languageManager.getMessage("punishment.tempipban_success", "operator", operator, "player", targetName, "time", formattedTime, "reason", reason);
+            case TEMPBAN -> languageManager.getMessage("punishment.tempban_success", "operator", operator, "player", targetName, "time", formattedTime, "reason", reason);
+            case MUTE -> languageManager.getMessage("punishment.mute_success", "player", targetName, "reason", reason);
+            case TEMPMUTE -> languageManager.getMessage("punishment.tempmute_success", "operator", operator, "player", targetName, "time", formattedTime, "reason", reason);
+            case KICK -> languageManager.getMessage("broadcast.player_kicked", "player", targetName, "reason", reason);
+            case WARN -> languageManager.getMessage("broadcast.player_warned", "player", targetName, "reason", reason);
+        };
+    }
+
+    private static boolean isBan(PunishmentType type) {
+        return type == PunishmentType.BAN || type == PunishmentType.TEMPBAN || type == PunishmentType.IPBAN || type == PunishmentType.TEMPIPBAN;
+    }
+
+    private static boolean isMute(PunishmentType type) {
+        return type == PunishmentType.MUTE || type == PunishmentType.TEMPMUTE;
     }
 }
@@ -0,0 +1,159 @@
+package com.etmisthefox.solacecore.websocket;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.java_websocket.WebSocket;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs web commands on a small worker pool instead of the WebSocket I/O thread.
+ * <p>
+ * Every connection has its own lane: commands from one client run one at a time in arrival order,
+ * while different clients run in parallel. A task returns a future for its whole pipeline (main thread,
+ * database, apply) and the lane starts the next command only when that future completes, so a ban
+ * followed by an unban from one dashboard is stored in that order. The worker thread is not held while
+ * waiting. A lane runs a single command per turn and then yields, so one busy client can't starve the others. Pending commands are bounded per client and in total;
+ * {@link #submit} returns false when either bound is reached and the caller replies with a busy error.
+ */
+public final class CommandDispatcher {
+
+    private final ExecutorService executor;
+    private final Logger log;
+    private final int capacity;
+    private final int maxPerClient;
+    private final long commandTimeoutMs;
+
+    private final Map<WebSocket, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public CommandDispatcher(ConfigurationSection config, Logger log) {
+        this.log = log;
+        int threads = Math.max(1, config != null ? config.getInt("threads", 4) : 4);
+        this.capacity = Math.max(1, config != null ? config.getInt("queue_capacity", 256) : 256);
+        this.maxPerClient = Math.max(1, config != null ? config.getInt("max_pending_per_client", 16) : 16);
+        this.commandTimeoutMs = Math.max(1, config != null ? config.getLong("command_timeout_ms", 30000) : 30000);
+
+        AtomicInteger workerId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "SolaceCore-WS-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // False = rejected (queue full or shutting down), the task was not queued
+    public boolean submit(WebSocket conn, Supplier<CompletableFuture<?>> task) {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            return false;
+        }
+        Lane lane = lanes.computeIfAbsent(conn, c -> new Lane());
+        if (!lane.offer(task)) {
+            pending.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // Queued commands of a closed connection still run (a ban sent just before disconnect must apply)
+    public void remove(WebSocket conn) {
+        lanes.remove(conn);
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warning("Web commands still running on shutdown, abandoning them.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        lanes.clear();
+    }
+
+    private final class Lane implements Runnable {
+
+        private final Queue<Supplier<CompletableFuture<?>>> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        boolean offer(Supplier<CompletableFuture<?>> task) {
+            if (size.incrementAndGet() > maxPerClient) {
+                size.decrementAndGet();
+                return false;
+            }
+            tasks.add(task);
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (Exception e) {
+                // Shut down between submit() and here: drop what is queued
+                scheduled.set(false);
+                while (tasks.poll() != null) {
+                    size.decrementAndGet();
+                    pending.decrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Supplier<CompletableFuture<?>> task = tasks.poll();
+            if (task == null) {
+                next();
+                return;
+            }
+            CompletableFuture<?> future;
+            try {
+                future = task.get();
+            } catch (Throwable t) {
+                future = CompletableFuture.failedFuture(t);
+            }
+            // A stuck main thread must not block the client forever; after the timeout the lane moves on
+            future.orTimeout(commandTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    log.log(Level.SEVERE, "Web command failed", error);
+                }
+                size.decrementAndGet();
+                pending.decrementAndGet();
+                next();
+            });
+        }
+
+        private void next() {
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
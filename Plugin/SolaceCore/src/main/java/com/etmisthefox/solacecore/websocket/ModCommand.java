@@ -0,0 +1,86 @@
+package com.etmisthefox.solacecore.websocket;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// One command from the web panel, decoded from either protocol. Missing fields are null,
+// items is only used by the bulk action (each item is a command of its own).
+public record ModCommand(String action, String playerName, String reason, String moderator, Long duration, List<ModCommand> items) {
+
+    public ModCommand {
+        items = items != null ? List.copyOf(items) : List.of();
+    }
+
+    public static ModCommand fromJson(JsonObject json) {
+        List<ModCommand> items = new ArrayList<>();
+        if (json.has("items") && json.get("items").isJsonArray()) {
+            for (JsonElement item : json.getAsJsonArray("items")) {
+                items.add(item.isJsonObject() ? fromJson(item.getAsJsonObject()) : new ModCommand(null, null, null, null, null, null));
+            }
+        }
+        return new ModCommand(
+                string(json, "action"),
+                string(json, "playerName"),
+                string(json, "reason"),
+                string(json, "moderator"),
+                json.has("duration") && !json.get("duration").isJsonNull() ? json.get("duration").getAsLong() : null,
+                items);
+    }
+
+    // One MessagePack map with the same keys as the JSON protocol; unknown keys are skipped
+    public static ModCommand fromMsgPack(ByteBuffer frame) {
+        try {
+            MsgPack.Reader reader = new MsgPack.Reader(frame);
+            ModCommand command = read(reader, true);
+            if (reader.hasNext()) {
+                throw new IllegalArgumentException("Trailing data after MessagePack command");
+            }
+            return command;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated MessagePack frame");
+        }
+    }
+
+    private static ModCommand read(MsgPack.Reader reader, boolean allowItems) {
+        String action = null;
+        String playerName = null;
+        String reason = null;
+        String moderator = null;
+        Long duration = null;
+        List<ModCommand> items = new ArrayList<>();
+
+        int fields = reader.readMapHeader();
+        for (int i = 0; i < fields; i++) {
+            String key = reader.readString();
+            switch (key != null ? key : "") {
+                case "action" -> action = reader.readString();
+                case "playerName" -> playerName = reader.readString();
+                case "reason" -> reason = reader.readString();
+                case "moderator" -> moderator = reader.readString();
+                case "duration" -> duration = reader.readLong();
+                case "items" -> {
+                    // Bulk items don't nest
+                    if (!allowItems || reader.isNil()) {
+                        reader.skip();
+                        break;
+                    }
+                    int count = reader.readArrayHeader();
+                    for (int n = 0; n < count; n++) {
+                        items.add(read(reader, false));
+                    }
+                }
+                default -> reader.skip();
+            }
+        }
+        return new ModCommand(action, playerName, reason, moderator, duration, items);
+    }
+
+    private static String string(JsonObject json, String key) {
+        return json.has(key) && !json.get(key).isJsonNull() ? json.get(key).getAsString() : null;
+    }
+}
@@ -2,9 +2,13 @@ package com.etmisthefox.solacecore.websocket;
 
 import com.etmisthefox.solacecore.database.Database;
 import com.etmisthefox.solacecore.enums.PunishmentType;
+import com.etmisthefox.solacecore.logging.ModerationLog.Category;
 import com.etmisthefox.solacecore.managers.LanguageManager;
 import com.etmisthefox.solacecore.utils.PunishmentUtil;
 import com.etmisthefox.solacecore.models.Punishment;
+import com.etmisthefox.solacecore.models.PunishmentRequest;
+import com.etmisthefox.solacecore.models.PunishmentResult;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -12,10 +16,24 @@ import org.bukkit.plugin.Plugin;
 import org.java_websocket.WebSocket;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
 public class ModCommandHandler {
 
+    // Upper bound for one bulk frame, larger waves are split by the panel
+    private static final int MAX_BULK_ITEMS = 500;
+
+    // Reply types, returned by every handler as the outcome of the request
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+    static final String BULK_RESULT = "bulk_result";
+
     private final Database database;
     private final LanguageManager languageManager;
     private final Plugin plugin;
@@ -26,148 +44,179 @@ public class ModCommandHandler {
         this.plugin = plugin;
     }
 
-    public void handleCommand(String action, JsonObject json, WebSocket conn, ModeratorWebSocketServer server) {
-        String playerName = json.has("playerName") ? json.get("playerName").getAsString() : null;
-        String reason = json.has("reason") ? json.get("reason").getAsString() : languageManager.getMessage("punishment.no_reason");
-        String moderator = json.has("moderator") ? json.get("moderator").getAsString() : null;
+    // Completes when the command is fully done (main thread, database and apply) with the type of the reply
+    // sent to the client (the outcome in the request log); the dispatcher only runs the next command of the
+    // same client after that
+    public CompletableFuture<String> handleCommand(ModCommand command, WebSocket conn, ModeratorWebSocketServer server) {
+        String action = command.action();
+        String playerName = command.playerName();
+        String reason = command.reason() != null ? command.reason() : languageManager.getMessage("punishment.no_reason");
+        String moderator = command.moderator();
 
         try {
-            switch (action.toLowerCase()) {
-                case "ban":
-                    handleBan(conn, server, playerName, reason, moderator);
-                    break;
-                case "tempban":
-                    handleTempBan(conn, server, playerName, reason, json, moderator);
-                    break;
-                case "ipban":
-                    handleIpBan(conn, server, playerName, reason, moderator);
-                    break;
-                case "tempipban":
-                    handleTempIpBan(conn, server, playerName, reason, json, moderator);
-                    break;
-                case "unban":
-                    handleUnban(conn, server, playerName);
-                    break;
-                case "unipban":
-                    handleUnban(conn, server, playerName);
-                    break;
-                case "kick":
-                    handleKick(conn, server, playerName, reason, moderator);
-                    break;
-                case "warn":
-                    handleWarn(conn, server, playerName, reason, moderator);
-                    break;
-                case "mute":
-                    handleMute(conn, server, playerName, reason, json, moderator);
-                    break;
-                case "tempmute":
-                    handleTempMute(conn, server, playerName, reason, json, moderator);
-                    break;
-                case "unmute":
-                    handleUnmute(conn, server, playerName);
-                    break;
-                default:
+            return switch (action.toLowerCase()) {
+                case "ban" -> handleBan(conn, server, playerName, reason, moderator);
+                case "tempban" -> handleTempBan(conn, server, playerName, reason, command.duration(), moderator);
+                case "ipban" -> handleIpBan(conn, server, playerName, reason, moderator);
+                case "tempipban" -> handleTempIpBan(conn, server, playerName, reason, command.duration(), moderator);
+                case "unban", "unipban" -> handleUnban(conn, server, playerName);
+                case "kick" -> handleKick(conn, server, playerName, reason, moderator);
+                case "warn" -> handleWarn(conn, server, playerName, reason, moderator);
+                case "mute" -> handleMute(conn, server, playerName, reason, command.duration(), moderator);
+                case "tempmute" -> handleTempMute(conn, server, playerName, reason, command.duration(), moderator);
+                case "unmute" -> handleUnmute(conn, server, playerName);
+                case "bulk" -> handleBulk(conn, server, command.items(), reason, moderator);
+                default -> {
                     server.sendError(conn, languageManager.getMessage("websocket.error.unknown_action", "action", action));
-            }
+                    yield done(ERROR);
+                }
+            };
         } catch (Exception e) {
+            server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", action, "player", playerName);
             server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", e.getMessage()));
+            return done(ERROR);
         }
     }
 
-    private void handleBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
+    private static CompletableFuture<String> done(String outcome) {
+        return CompletableFuture.completedFuture(outcome);
+    }
+
+    // Runs work on the main thread and waits for the future it returns, not just for the hand-over
+    private CompletableFuture<String> onMainThread(Supplier<CompletableFuture<String>> work) {
+        return CompletableFuture.supplyAsync(work, Bukkit.getScheduler().getMainThreadExecutor(plugin)).thenCompose(future -> future);
+    }
+
+    private CompletableFuture<String> handleBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayerExact(playerName);
-            PunishmentUtil.executePunishment(database, languageManager, PunishmentType.BAN, Bukkit.getConsoleSender(), player, playerName, reason, null, "web", moderator);
-
-            server.sendSuccess(conn, "ban", languageManager.getMessage("websocket.success.ban", "player", playerName));
-
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "ban");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            server.sendToAll(notification);
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.BAN, Bukkit.getConsoleSender(), player, playerName, reason, null, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "ban", languageManager.getMessage("websocket.success.ban", "player", playerName));
+
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "ban");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "ban", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleTempBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, JsonObject json, String moderator) {
+    private CompletableFuture<String> handleTempBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, Long requestedDuration, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
-        long duration = json.has("duration") ? json.get("duration").getAsLong() : 3600;
+        long duration = requestedDuration != null ? requestedDuration : 3600;
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayerExact(playerName);
-            PunishmentUtil.executePunishment(database, languageManager, PunishmentType.TEMPBAN, Bukkit.getConsoleSender(), player, playerName, reason, duration, "web", moderator);
-
-            server.sendSuccess(conn, "tempban", languageManager.getMessage("websocket.success.tempban", "player", playerName));
-
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "tempban");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            notification.addProperty("duration", duration);
-            server.sendToAll(notification);
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.TEMPBAN, Bukkit.getConsoleSender(), player, playerName, reason, duration, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "tempban", languageManager.getMessage("websocket.success.tempban", "player", playerName));
+
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "tempban");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                notification.addProperty("duration", duration);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "tempban", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleIpBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
+    private CompletableFuture<String> handleIpBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayerExact(playerName);
-            PunishmentUtil.executePunishment(database, languageManager, PunishmentType.IPBAN, Bukkit.getConsoleSender(), player, playerName, reason, null, "web", moderator);
-
-            server.sendSuccess(conn, "ipban", languageManager.getMessage("websocket.success.ipban", "player", playerName));
-
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "ipban");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            server.sendToAll(notification);
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.IPBAN, Bukkit.getConsoleSender(), player, playerName, reason, null, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "ipban", languageManager.getMessage("websocket.success.ipban", "player", playerName));
+
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "ipban");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "ipban", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleTempIpBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, JsonObject json, String moderator) {
+    private CompletableFuture<String> handleTempIpBan(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, Long requestedDuration, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
-        long duration = json.has("duration") ? json.get("duration").getAsLong() : 3600;
+        long duration = requestedDuration != null ? requestedDuration : 3600;
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayerExact(playerName);
-            PunishmentUtil.executePunishment(database, languageManager, PunishmentType.TEMPIPBAN, Bukkit.getConsoleSender(), player, playerName, reason, duration, "web", moderator);
-
-            server.sendSuccess(conn, "tempipban", languageManager.getMessage("websocket.success.tempipban", "player", playerName));
-
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "tempipban");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            notification.addProperty("duration", duration);
-            server.sendToAll(notification);
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.TEMPIPBAN, Bukkit.getConsoleSender(), player, playerName, reason, duration, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "tempipban", languageManager.getMessage("websocket.success.tempipban", "player", playerName));
+
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "tempipban");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                notification.addProperty("duration", duration);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "tempipban", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleUnban(WebSocket conn, ModeratorWebSocketServer server, String playerName) {
+    private CompletableFuture<String> handleUnban(WebSocket conn, ModeratorWebSocketServer server, String playerName) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
         try {
@@ -187,7 +236,7 @@ public class ModCommandHandler {
 
             if (!unbanned) {
                 server.sendError(conn, languageManager.getMessage("websocket.error.player_not_banned", "player", playerName));
-                return;
+                return done(ERROR);
             }
 
             server.sendSuccess(conn, "unban", languageManager.getMessage("websocket.success.unban", "player", playerName));
@@ -197,122 +246,163 @@ public class ModCommandHandler {
             notification.addProperty("action", "unban");
             notification.addProperty("playerName", playerName);
             server.sendToAll(notification);
+            return done(SUCCESS);
         } catch (SQLException e) {
             server.sendError(conn, languageManager.getMessage("websocket.error.unban_failed", "error", e.getMessage()));
+            return done(ERROR);
         }
     }
 
-    private void handleKick(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
+    private CompletableFuture<String> handleKick(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
         // Naplánovat na hlavní vlákno
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayer(playerName);
-            if (player != null) {
-                PunishmentUtil.executePunishment(database, languageManager, PunishmentType.KICK, Bukkit.getConsoleSender(), player, reason, null, "web", moderator);
-                server.sendSuccess(conn, "kick", languageManager.getMessage("websocket.success.kick", "player", playerName));
-            } else {
+            if (player == null) {
                 server.sendError(conn, languageManager.getMessage("websocket.error.player_not_online", "player", playerName));
+                return done(ERROR);
             }
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.KICK, Bukkit.getConsoleSender(), player, reason, null, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "kick", languageManager.getMessage("websocket.success.kick", "player", playerName));
 
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "kick");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            server.sendToAll(notification);
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "kick");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "kick", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleWarn(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
+    private CompletableFuture<String> handleWarn(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
         // Naplánovat na hlavní vlákno
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayer(playerName);
-            if (player != null) {
-                PunishmentUtil.executePunishment(database, languageManager, PunishmentType.WARN, Bukkit.getConsoleSender(), player, reason, null, "web", moderator);
-                server.sendSuccess(conn, "warn", languageManager.getMessage("websocket.success.warn", "player", playerName));
-            } else {
+            if (player == null) {
                 server.sendError(conn, languageManager.getMessage("websocket.error.player_not_online", "player", playerName));
+                return done(ERROR);
             }
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.WARN, Bukkit.getConsoleSender(), player, reason, null, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "warn", languageManager.getMessage("websocket.success.warn", "player", playerName));
 
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "warn");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            server.sendToAll(notification);
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "warn");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "warn", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleMute(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, JsonObject json, String moderator) {
+    private CompletableFuture<String> handleMute(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, Long requestedDuration, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
         // Naplánovat na hlavní vlákno
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayer(playerName);
-            if (player != null) {
-                PunishmentUtil.executePunishment(database, languageManager, PunishmentType.MUTE, Bukkit.getConsoleSender(), player, reason, null, "web", moderator);
-
-                server.sendSuccess(conn, "mute", languageManager.getMessage("websocket.success.mute", "player", playerName));
-            } else {
+            if (player == null) {
                 server.sendError(conn, languageManager.getMessage("websocket.error.player_not_online", "player", playerName));
+                return done(ERROR);
             }
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.MUTE, Bukkit.getConsoleSender(), player, reason, null, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "mute", languageManager.getMessage("websocket.success.mute", "player", playerName));
 
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "mute");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            server.sendToAll(notification);
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "mute");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "mute", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleTempMute(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, JsonObject json, String moderator) {
+    private CompletableFuture<String> handleTempMute(WebSocket conn, ModeratorWebSocketServer server, String playerName, String reason, Long requestedDuration, String moderator) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
-        long duration = json.has("duration") ? json.get("duration").getAsLong() : 0;
+        long duration = requestedDuration != null ? requestedDuration : 0;
         if (duration <= 0) {
             server.sendError(conn, languageManager.getMessage("errors.invalid_time"));
-            return;
+            return done(ERROR);
         }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        return onMainThread(() -> {
             Player player = Bukkit.getPlayer(playerName);
-            if (player != null) {
-                PunishmentUtil.executePunishment(database, languageManager, PunishmentType.TEMPMUTE, Bukkit.getConsoleSender(), player, reason, duration, "web", moderator);
-                server.sendSuccess(conn, "tempmute", languageManager.getMessage("websocket.success.mute", "player", playerName));
-            } else {
+            if (player == null) {
                 server.sendError(conn, languageManager.getMessage("websocket.error.player_not_online", "player", playerName));
+                return done(ERROR);
             }
+            return PunishmentUtil.executePunishment(database, languageManager, PunishmentType.TEMPMUTE, Bukkit.getConsoleSender(), player, reason, duration, "web", moderator).thenApply(result -> {
+                if (!result.isSuccess()) {
+                    server.sendError(conn, result.message());
+                    return ERROR;
+                }
+                server.sendSuccess(conn, "tempmute", languageManager.getMessage("websocket.success.mute", "player", playerName));
 
-            JsonObject notification = new JsonObject();
-            notification.addProperty("type", "action");
-            notification.addProperty("action", "tempmute");
-            notification.addProperty("playerName", playerName);
-            notification.addProperty("reason", reason);
-            notification.addProperty("duration", duration);
-            server.sendToAll(notification);
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "tempmute");
+                notification.addProperty("playerName", playerName);
+                notification.addProperty("reason", reason);
+                notification.addProperty("duration", duration);
+                server.sendToAll(notification);
+                return SUCCESS;
+            }).exceptionally(e -> {
+                server.getModerationLog().error(Category.COMMAND, "command_failed", e, "action", "tempmute", "player", playerName);
+                server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+                return ERROR;
+            });
         });
     }
 
-    private void handleUnmute(WebSocket conn, ModeratorWebSocketServer server, String playerName) {
+    private CompletableFuture<String> handleUnmute(WebSocket conn, ModeratorWebSocketServer server, String playerName) {
         if (playerName == null || playerName.isEmpty()) {
             server.sendError(conn, languageManager.getMessage("websocket.error.player_name_required"));
-            return;
+            return done(ERROR);
         }
 
         try {
@@ -329,7 +419,7 @@ public class ModCommandHandler {
 
             if (!unmuted) {
                 server.sendError(conn, languageManager.getMessage("websocket.error.player_not_muted", "player", playerName));
-                return;
+                return done(ERROR);
             }
 
             Bukkit.getScheduler().runTask(plugin, () -> {
@@ -346,8 +436,115 @@ public class ModCommandHandler {
             notification.addProperty("action", "unmute");
             notification.addProperty("playerName", playerName);
             server.sendToAll(notification);
+            return done(SUCCESS);
         } catch (SQLException e) {
             server.sendError(conn, languageManager.getMessage("websocket.error.unmute_failed", "error", e.getMessage()));
+            return done(ERROR);
+        }
+    }
+
+    // One frame, many targets: {"action":"bulk","reason":..,"moderator":..,"items":[{"action":"ban","playerName":..,"reason"?,"duration"?}]}
+    // Only the ban family is supported. Items are validated together, stored in one batch and answered with one
+    // bulk_result frame; items that fail don't stop the rest.
+    private CompletableFuture<String> handleBulk(WebSocket conn, ModeratorWebSocketServer server, List<ModCommand> items, String reason, String moderator) {
+        if (items.isEmpty()) {
+            server.sendError(conn, languageManager.getMessage("websocket.error.bulk_items_required"));
+            return done(ERROR);
         }
+        if (items.size() > MAX_BULK_ITEMS) {
+            server.sendError(conn, languageManager.getMessage("websocket.error.bulk_too_large", "max", String.valueOf(MAX_BULK_ITEMS)));
+            return done(ERROR);
+        }
+
+        // Položky, které neprošly už tady, se do hromadné akce nepošlou, ale objeví se ve výsledku
+        JsonObject[] entries = new JsonObject[items.size()];
+        List<PunishmentRequest> requests = new ArrayList<>();
+        List<Integer> requestIndexes = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            ModCommand item = items.get(i);
+            String itemAction = item.action() != null ? item.action().toLowerCase() : "";
+            String itemPlayer = item.playerName();
+            String itemReason = item.reason() != null ? item.reason() : reason;
+
+            PunishmentType type = switch (itemAction) {
+                case "ban" -> PunishmentType.BAN;
+                case "tempban" -> PunishmentType.TEMPBAN;
+                case "ipban" -> PunishmentType.IPBAN;
+                case "tempipban" -> PunishmentType.TEMPIPBAN;
+                default -> null;
+            };
+            if (type == null) {
+                entries[i] = bulkEntry(itemPlayer, itemAction, "UNSUPPORTED", languageManager.getMessage("websocket.error.bulk_unsupported", "action", itemAction));
+                continue;
+            }
+            if (itemPlayer == null || itemPlayer.isBlank()) {
+                entries[i] = bulkEntry(itemPlayer, itemAction, PunishmentResult.Status.PLAYER_NOT_FOUND.name(), languageManager.getMessage("websocket.error.player_name_required"));
+                continue;
+            }
+            if (!seen.add(itemPlayer.toLowerCase())) {
+                entries[i] = bulkEntry(itemPlayer, itemAction, "DUPLICATE", languageManager.getMessage("websocket.error.bulk_duplicate", "player", itemPlayer));
+                continue;
+            }
+
+            Long duration = null;
+            if (type == PunishmentType.TEMPBAN || type == PunishmentType.TEMPIPBAN) {
+                duration = item.duration() != null ? item.duration() : 3600L;
+            }
+            requests.add(new PunishmentRequest(type, itemPlayer, itemReason, duration));
+            requestIndexes.add(i);
+        }
+
+        String operator = moderator != null && !moderator.isBlank() ? moderator : Bukkit.getConsoleSender().getName();
+        return PunishmentUtil.executeBulk(database, languageManager, Bukkit.getConsoleSender(), requests, operator, reason).thenApply(results -> {
+            JsonArray players = new JsonArray();
+            int applied = 0;
+            for (int r = 0; r < results.size(); r++) {
+                PunishmentRequest request = requests.get(r);
+                PunishmentResult result = results.get(r);
+                entries[requestIndexes.get(r)] = bulkEntry(request.playerName(), request.type().name().toLowerCase(), result.status().name(), result.message());
+                if (result.isSuccess()) {
+                    players.add(request.playerName());
+                    applied++;
+                }
+            }
+
+            JsonArray resultArray = new JsonArray();
+            for (JsonObject entry : entries) {
+                resultArray.add(entry);
+            }
+            JsonObject response = new JsonObject();
+            response.addProperty("type", "bulk_result");
+            response.addProperty("action", "bulk");
+            response.addProperty("applied", applied);
+            response.addProperty("failed", entries.length - applied);
+            response.addProperty("message", languageManager.getMessage("websocket.success.bulk", "applied", String.valueOf(applied), "total", String.valueOf(entries.length)));
+            response.add("results", resultArray);
+            server.sendToClient(conn, response);
+            server.getModerationLog().log(Category.COMMAND, Level.INFO, "bulk", "operator", operator, "applied", applied, "failed", entries.length - applied);
+
+            if (applied > 0) {
+                JsonObject notification = new JsonObject();
+                notification.addProperty("type", "action");
+                notification.addProperty("action", "bulk");
+                notification.addProperty("count", applied);
+                notification.addProperty("reason", reason);
+                notification.add("players", players);
+                server.sendToAll(notification);
+            }
+            return BULK_RESULT;
+        }).exceptionally(e -> {
+            server.sendError(conn, languageManager.getMessage("websocket.error.executing_command", "error", String.valueOf(e.getMessage())));
+            return ERROR;
+        });
+    }
+
+    private static JsonObject bulkEntry(String playerName, String action, String status, String message) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("playerName", playerName);
+        entry.addProperty("action", action);
+        entry.addProperty("status", status);
+        entry.addProperty("message", message);
+        return entry;
     }
 }
@@ -1,96 +1,215 @@
 package com.etmisthefox.solacecore.websocket;
 
+import com.etmisthefox.solacecore.logging.ModerationLog;
+import com.etmisthefox.solacecore.logging.ModerationLog.Category;
 import com.etmisthefox.solacecore.managers.LanguageManager;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import org.bukkit.configuration.ConfigurationSection;
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.protocols.IProtocol;
+import org.java_websocket.protocols.Protocol;
 import org.java_websocket.server.WebSocketServer;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 public class ModeratorWebSocketServer extends WebSocketServer {
 
+    // Sec-WebSocket-Protocol values; clients sending none (the original panel) get JSON
+    public static final String PROTOCOL_MSGPACK = "solace.msgpack.v1";
+    public static final String PROTOCOL_JSON = "solace.json.v1";
+
     private final JavaPlugin plugin;
     private final LanguageManager lang;
     private final Gson gson = new Gson();
     private final List<WebSocket> connections = new CopyOnWriteArrayList<>();
     private final ModCommandHandler commandHandler;
+    private final CommandDispatcher dispatcher;
+    private final OutboundQueues outbound;
+    private final ModerationLog moderationLog;
+    private final AtomicLong requestIds = new AtomicLong();
 
     public ModeratorWebSocketServer(int port, JavaPlugin plugin, ModCommandHandler commandHandler, LanguageManager lang) {
-        super(new InetSocketAddress(port));
+        super(new InetSocketAddress(port), drafts(plugin.getConfig().getConfigurationSection("websocket_protocol")));
         this.plugin = plugin;
         this.commandHandler = commandHandler;
         this.lang = lang;
+        this.dispatcher = new CommandDispatcher(plugin.getConfig().getConfigurationSection("websocket_dispatch"), plugin.getLogger());
+        this.outbound = new OutboundQueues(plugin.getConfig().getConfigurationSection("websocket_outbound"), plugin.getLogger());
+        this.moderationLog = new ModerationLog(plugin.getConfig().getConfigurationSection("moderation_log"), plugin.getLogger());
+    }
+
+    // permessage-deflate is only used when the client offers it, the subprotocol list ends with a catch-all for old clients
+    private static List<Draft> drafts(ConfigurationSection config) {
+        List<IExtension> extensions = new ArrayList<>();
+        if (config == null || config.getBoolean("compression", true)) {
+            PerMessageDeflateExtension deflate = new PerMessageDeflateExtension();
+            deflate.setThreshold(config != null ? config.getInt("compression_threshold", 256) : 256);
+            extensions.add(deflate);
+        }
+        List<IProtocol> protocols = new ArrayList<>();
+        if (config == null || config.getBoolean("msgpack", true)) {
+            protocols.add(new Protocol(PROTOCOL_MSGPACK));
+        }
+        protocols.add(new Protocol(PROTOCOL_JSON));
+        protocols.add(new Protocol(""));
+        return List.of(new Draft_6455(extensions, protocols));
+    }
+
+    private static boolean isBinary(WebSocket conn) {
+        IProtocol protocol = conn.getProtocol();
+        return protocol != null && PROTOCOL_MSGPACK.equals(protocol.getProvidedProtocol());
     }
 
     @Override
     public void onOpen(WebSocket conn, ClientHandshake handshake) {
         connections.add(conn);
-        String clientAddr = conn.getRemoteSocketAddress().toString();
-        plugin.getLogger().info("✓ Web client CONNECTED: " + clientAddr);
-        plugin.getLogger().info("  Total connections: " + connections.size());
+        boolean binary = isBinary(conn);
+        outbound.open(conn, binary);
+        moderationLog.log(Category.CONNECTION, Level.INFO, "connected",
+                "client", conn.getRemoteSocketAddress(), "protocol", binary ? PROTOCOL_MSGPACK : PROTOCOL_JSON, "connections", connections.size());
         
         // Potvrzení připojení
         JsonObject response = new JsonObject();
         response.addProperty("type", "connected");
         response.addProperty("message", lang.getMessage("websocket.connected"));
         response.addProperty("version", "1.0");
+        response.addProperty("protocol", binary ? PROTOCOL_MSGPACK : PROTOCOL_JSON);
         response.addProperty("timestamp", System.currentTimeMillis());
-        conn.send(gson.toJson(response));
+        sendToClient(conn, response);
     }
 
     @Override
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
         connections.remove(conn);
-        plugin.getLogger().info("✗ Web client DISCONNECTED: " + conn.getRemoteSocketAddress() + " (Code: " + code + ")");
-        plugin.getLogger().info("  Total connections: " + connections.size());
+        dispatcher.remove(conn);
+        outbound.close(conn);
+        moderationLog.log(Category.CONNECTION, Level.INFO, "disconnected",
+                "client", conn.getRemoteSocketAddress(), "code", code, "remote", remote, "connections", connections.size());
     }
 
+    // Runs on the I/O thread: only hand the message over, parsing and handling happen on the dispatcher
     @Override
     public void onMessage(WebSocket conn, String message) {
+        long received = System.nanoTime();
+        if (!dispatcher.submit(conn, () -> handleMessage(conn, message, received))) {
+            rejectBusy(conn);
+        }
+    }
+
+    // The frame buffer is reused by the socket, so the bytes are copied before the hand-over
+    @Override
+    public void onMessage(WebSocket conn, ByteBuffer message) {
+        long received = System.nanoTime();
+        ByteBuffer frame = ByteBuffer.allocate(message.remaining()).put(message).flip();
+        if (!dispatcher.submit(conn, () -> handleBinaryMessage(conn, frame, received))) {
+            rejectBusy(conn);
+        }
+    }
+
+    private void rejectBusy(WebSocket conn) {
+        moderationLog.log(Category.REQUEST, Level.WARNING, "rejected_busy", "client", conn.getRemoteSocketAddress(), "pending", dispatcher.pending());
+        sendError(conn, lang.getMessage("websocket.error.busy"));
+    }
+
+    public CompletableFuture<String> handleMessage(WebSocket conn, String message) {
+        return handleMessage(conn, message, System.nanoTime());
+    }
+
+    // Runs on a dispatcher worker; the next message of the connection waits for the returned future
+    public CompletableFuture<String> handleMessage(WebSocket conn, String message, long received) {
+        long id = requestIds.incrementAndGet();
+        long start = System.nanoTime();
+        ModCommand command = null;
         try {
-            plugin.getLogger().info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-            plugin.getLogger().info("📨 WebSocket Message Received:");
-            plugin.getLogger().info("   From: " + conn.getRemoteSocketAddress());
-            plugin.getLogger().info("   Payload: " + message);
-            
-            JsonObject json = gson.fromJson(message, JsonObject.class);
-            String action = json.has("action") ? json.get("action").getAsString() : null;
-
-            if (action == null) {
-                plugin.getLogger().warning("❌ Missing action field in message");
-                sendError(conn, lang.getMessage("websocket.error.missing_action"));
-                return;
+            if (moderationLog.isEnabled(Category.REQUEST, Level.FINE)) {
+                moderationLog.log(Category.REQUEST, Level.FINE, "payload", "id", id, "body", message);
             }
+            command = ModCommand.fromJson(gson.fromJson(message, JsonObject.class));
+            return logWhenDone(dispatch(conn, command), conn, id, "json", message.length(), command, received, start);
+        } catch (Exception e) {
+            failRequest(conn, id, command, e);
+            return CompletableFuture.completedFuture(ModCommandHandler.ERROR);
+        }
+    }
 
-            plugin.getLogger().info("   Action: " + action);
-            if (json.has("playerName")) {
-                plugin.getLogger().info("   Player: " + json.get("playerName").getAsString());
-            }
-            if (json.has("reason")) {
-                plugin.getLogger().info("   Reason: " + json.get("reason").getAsString());
+    public CompletableFuture<String> handleBinaryMessage(WebSocket conn, ByteBuffer frame) {
+        return handleBinaryMessage(conn, frame, System.nanoTime());
+    }
+
+    // MessagePack frame, decoded straight into a ModCommand without a JSON tree
+    public CompletableFuture<String> handleBinaryMessage(WebSocket conn, ByteBuffer frame, long received) {
+        long id = requestIds.incrementAndGet();
+        long start = System.nanoTime();
+        int size = frame.remaining();
+        ModCommand command = null;
+        try {
+            command = ModCommand.fromMsgPack(frame);
+            return logWhenDone(dispatch(conn, command), conn, id, "msgpack", size, command, received, start);
+        } catch (Exception e) {
+            failRequest(conn, id, command, e);
+            return CompletableFuture.completedFuture(ModCommandHandler.ERROR);
+        }
+    }
+
+    // One line per request once the command has finished; wait = time in the dispatcher queue,
+    // took = decoding up to the end of the command (main thread and database included); the outcome is the
+    // reply type the command completed with, so a busy rejection sent meanwhile on the I/O thread can't replace it
+    private CompletableFuture<String> logWhenDone(CompletableFuture<String> done, WebSocket conn, long id, String format, int size, ModCommand command, long received, long start) {
+        return done.whenComplete((reply, error) -> {
+            if (!moderationLog.isEnabled(Category.REQUEST, Level.INFO)) {
+                return;
             }
+            long end = System.nanoTime();
+            moderationLog.log(Category.REQUEST, error != null ? Level.WARNING : Level.INFO, "request",
+                    "id", id,
+                    "client", conn.getRemoteSocketAddress(),
+                    "format", format,
+                    "bytes", size,
+                    "action", command.action(),
+                    "player", command.playerName(),
+                    "items", command.items().isEmpty() ? null : command.items().size(),
+                    "outcome", error != null ? "failed" : reply != null ? reply : "none",
+                    "wait_us", (start - received) / 1000,
+                    "took_us", (end - start) / 1000);
+        });
+    }
 
-            // Zpracovat příkaz
-            commandHandler.handleCommand(action, json, conn, this);
-            
-            plugin.getLogger().info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+    private void failRequest(WebSocket conn, long id, ModCommand command, Exception e) {
+        moderationLog.error(Category.REQUEST, "request_failed", e,
+                "id", id,
+                "client", conn.getRemoteSocketAddress(),
+                "action", command != null ? command.action() : null,
+                "error", e.getMessage());
+        sendError(conn, lang.getMessage("websocket.error.processing_request", "error", e.getMessage()));
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("❌ Error processing WebSocket message: " + e.getMessage());
-            e.printStackTrace();
-            sendError(conn, lang.getMessage("websocket.error.processing_request", "error", e.getMessage()));
+    // Exceptions go to the caller, which answers with processing_request
+    private CompletableFuture<String> dispatch(WebSocket conn, ModCommand command) {
+        if (command.action() == null) {
+            sendError(conn, lang.getMessage("websocket.error.missing_action"));
+            return CompletableFuture.completedFuture(ModCommandHandler.ERROR);
         }
+
+        // Zpracovat příkaz
+        return commandHandler.handleCommand(command, conn, this);
     }
 
     @Override
     public void onError(WebSocket conn, Exception ex) {
-        plugin.getLogger().severe("❌ WebSocket ERROR: " + ex.getMessage());
-        ex.printStackTrace();
+        moderationLog.error(Category.CONNECTION, "socket_error", ex, "client", conn != null ? conn.getRemoteSocketAddress() : null, "error", ex.getMessage());
     }
 
     @Override
@@ -99,18 +218,15 @@ public class ModeratorWebSocketServer extends WebSocketServer {
         plugin.getLogger().info("   Web će se připojovat na: ws://localhost:" + getPort());
     }
 
+    // Serialized once per format and queued per client; returns immediately, the socket writes happen on SolaceCore-WS-Out.
+    // Not coalesced: action events carry reason and duration and may repeat (warn, kick), dashboards keep them as a feed
     public void sendToAll(JsonObject message) {
-        String json = gson.toJson(message);
-        for (WebSocket conn : connections) {
-            if (conn.isOpen()) {
-                conn.send(json);
-            }
-        }
+        outbound.broadcast(null, message);
     }
 
     public void sendToClient(WebSocket conn, JsonObject message) {
         if (conn != null && conn.isOpen()) {
-            conn.send(gson.toJson(message));
+            outbound.send(conn, message);
         }
     }
 
@@ -129,6 +245,21 @@ public class ModeratorWebSocketServer extends WebSocketServer {
         sendToClient(conn, response);
     }
 
+    // Call after stop(): lets commands that are already queued finish
+    public void shutdownWorkers() {
+        dispatcher.shutdown();
+        outbound.shutdown();
+        moderationLog.shutdown();
+    }
+
+    public ModerationLog getModerationLog() {
+        return moderationLog;
+    }
+
+    public OutboundQueues.Metrics getOutboundMetrics() {
+        return outbound.getMetrics();
+    }
+
     public List<WebSocket> getConnections() {
         return new ArrayList<>(connections);
     }
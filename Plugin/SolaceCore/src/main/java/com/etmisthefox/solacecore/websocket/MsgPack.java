@@ -0,0 +1,303 @@
+package com.etmisthefox.solacecore.websocket;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * The part of MessagePack the moderator protocol needs: nil, booleans, integers, floats, strings,
+ * arrays and maps (bin and ext are skipped when read). Outgoing frames are encoded from the same
+ * Gson objects as the JSON protocol; incoming frames are read as a stream by {@link ModCommand}
+ * without building a tree.
+ */
+public final class MsgPack {
+
+    private MsgPack() {
+    }
+
+    public static byte[] encode(JsonElement element) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        write(out, element);
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            out.write(0xc0);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            writeHeader(out, object.size(), 0x80, 0xde, 0xdf);
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeString(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            writeHeader(out, array.size(), 0x90, 0xdc, 0xdd);
+            for (JsonElement item : array) {
+                write(out, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.write(primitive.getAsBoolean() ? 0xc3 : 0xc2);
+            } else if (primitive.isNumber()) {
+                writeNumber(out, primitive.getAsBigDecimal());
+            } else {
+                writeString(out, primitive.getAsString());
+            }
+        }
+    }
+
+    private static void writeNumber(ByteArrayOutputStream out, BigDecimal value) {
+        long integral;
+        try {
+            integral = value.longValueExact();
+        } catch (ArithmeticException e) {
+            out.write(0xcb);
+            writeLong(out, Double.doubleToLongBits(value.doubleValue()), 8);
+            return;
+        }
+        if (integral >= 0 && integral < 128) {
+            out.write((int) integral);
+        } else if (integral < 0 && integral >= -32) {
+            out.write((int) integral & 0xff);
+        } else if (integral >= Integer.MIN_VALUE && integral <= Integer.MAX_VALUE) {
+            out.write(0xd2);
+            writeLong(out, integral, 4);
+        } else {
+            out.write(0xd3);
+            writeLong(out, integral, 8);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            out.write(0xa0 | bytes.length);
+        } else if (bytes.length < 0x100) {
+            out.write(0xd9);
+            out.write(bytes.length);
+        } else if (bytes.length < 0x10000) {
+            out.write(0xda);
+            writeLong(out, bytes.length, 2);
+        } else {
+            out.write(0xdb);
+            writeLong(out, bytes.length, 4);
+        }
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeHeader(ByteArrayOutputStream out, int size, int fixPrefix, int prefix16, int prefix32) {
+        if (size < 16) {
+            out.write(fixPrefix | size);
+        } else if (size < 0x10000) {
+            out.write(prefix16);
+            writeLong(out, size, 2);
+        } else {
+            out.write(prefix32);
+            writeLong(out, size, 4);
+        }
+    }
+
+    // Big-endian, lowest `bytes` bytes of value
+    private static void writeLong(ByteArrayOutputStream out, long value, int bytes) {
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xff);
+        }
+    }
+
+    /**
+     * Streaming reader over one frame. Type mismatches and truncated input throw IllegalArgumentException.
+     */
+    public static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        public Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        public boolean isNil() {
+            return buffer.hasRemaining() && (buffer.get(buffer.position()) & 0xff) == 0xc0;
+        }
+
+        public int readMapHeader() {
+            int b = next();
+            if ((b & 0xf0) == 0x80) {
+                return b & 0x0f;
+            }
+            return switch (b) {
+                case 0xde -> unsigned(2);
+                case 0xdf -> unsigned(4);
+                default -> throw mismatch("map", b);
+            };
+        }
+
+        public int readArrayHeader() {
+            int b = next();
+            if ((b & 0xf0) == 0x90) {
+                return b & 0x0f;
+            }
+            return switch (b) {
+                case 0xdc -> unsigned(2);
+                case 0xdd -> unsigned(4);
+                default -> throw mismatch("array", b);
+            };
+        }
+
+        // Nil reads as null
+        public String readString() {
+            int b = next();
+            int length;
+            if ((b & 0xe0) == 0xa0) {
+                length = b & 0x1f;
+            } else {
+                length = switch (b) {
+                    case 0xc0 -> -1;
+                    case 0xd9 -> unsigned(1);
+                    case 0xda -> unsigned(2);
+                    case 0xdb -> unsigned(4);
+                    default -> throw mismatch("string", b);
+                };
+            }
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // Nil reads as null, floats are truncated
+        public Long readLong() {
+            int b = next();
+            if (b < 0x80) {
+                return (long) b;
+            }
+            if (b >= 0xe0) {
+                return (long) (byte) b;
+            }
+            return switch (b) {
+                case 0xc0 -> null;
+                case 0xcc -> (long) (buffer().get() & 0xff);
+                case 0xcd -> (long) (buffer().getShort() & 0xffff);
+                case 0xce -> buffer().getInt() & 0xffffffffL;
+                case 0xcf, 0xd3 -> buffer().getLong();
+                case 0xd0 -> (long) buffer().get();
+                case 0xd1 -> (long) buffer().getShort();
+                case 0xd2 -> (long) buffer().getInt();
+                case 0xca -> (long) buffer().getFloat();
+                case 0xcb -> (long) buffer().getDouble();
+                default -> throw mismatch("integer", b);
+            };
+        }
+
+        public boolean readBoolean() {
+            int b = next();
+            return switch (b) {
+                case 0xc2 -> false;
+                case 0xc3 -> true;
+                default -> throw mismatch("boolean", b);
+            };
+        }
+
+        // Skips one complete value, nested containers included
+        public void skip() {
+            int remaining = 1;
+            while (remaining-- > 0) {
+                int b = next();
+                if (b < 0x80 || b >= 0xe0 || b == 0xc0 || b == 0xc2 || b == 0xc3) {
+                    continue;
+                }
+                if ((b & 0xf0) == 0x80) {
+                    remaining += (b & 0x0f) * 2;
+                    continue;
+                }
+                if ((b & 0xf0) == 0x90) {
+                    remaining += b & 0x0f;
+                    continue;
+                }
+                if ((b & 0xe0) == 0xa0) {
+                    advance(b & 0x1f);
+                    continue;
+                }
+                switch (b) {
+                    case 0xcc, 0xd0 -> advance(1);
+                    case 0xcd, 0xd1 -> advance(2);
+                    case 0xca, 0xce, 0xd2 -> advance(4);
+                    case 0xcb, 0xcf, 0xd3 -> advance(8);
+                    case 0xd4 -> advance(2);
+                    case 0xd5 -> advance(3);
+                    case 0xd6 -> advance(5);
+                    case 0xd7 -> advance(9);
+                    case 0xd8 -> advance(17);
+                    case 0xc4, 0xd9 -> advance(unsigned(1));
+                    case 0xc5, 0xda -> advance(unsigned(2));
+                    case 0xc6, 0xdb -> advance(unsigned(4));
+                    case 0xc7 -> advance(unsigned(1) + 1);
+                    case 0xc8 -> advance(unsigned(2) + 1);
+                    case 0xc9 -> advance(unsigned(4) + 1);
+                    case 0xdc -> remaining += unsigned(2);
+                    case 0xdd -> remaining += unsigned(4);
+                    case 0xde -> remaining += unsigned(2) * 2;
+                    case 0xdf -> remaining += unsigned(4) * 2;
+                    default -> throw mismatch("value", b);
+                }
+            }
+        }
+
+        private int next() {
+            return buffer().get() & 0xff;
+        }
+
+        private int unsigned(int bytes) {
+            long value = switch (bytes) {
+                case 1 -> buffer().get() & 0xff;
+                case 2 -> buffer().getShort() & 0xffff;
+                default -> buffer().getInt() & 0xffffffffL;
+            };
+            // Lengths are bounded by the frame anyway, anything larger is a broken frame
+            if (value > buffer.remaining() * 2L + 16) {
+                throw new IllegalArgumentException("MessagePack length " + value + " exceeds the frame");
+            }
+            return (int) value;
+        }
+
+        private void advance(int bytes) {
+            if (bytes > buffer.remaining()) {
+                throw new IllegalArgumentException("Truncated MessagePack frame");
+            }
+            buffer.position(buffer.position() + bytes);
+        }
+
+        private void get(byte[] target) {
+            if (target.length > buffer.remaining()) {
+                throw new IllegalArgumentException("Truncated MessagePack frame");
+            }
+            buffer.get(target);
+        }
+
+        private ByteBuffer buffer() {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Truncated MessagePack frame");
+            }
+            return buffer;
+        }
+
+        private static IllegalArgumentException mismatch(String expected, int b) {
+            return new IllegalArgumentException("Expected MessagePack " + expected + ", got 0x" + Integer.toHexString(b));
+        }
+    }
+}
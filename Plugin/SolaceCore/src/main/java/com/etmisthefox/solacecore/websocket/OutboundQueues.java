@@ -0,0 +1,277 @@
+package com.etmisthefox.solacecore.websocket;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.bukkit.configuration.ConfigurationSection;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.framing.CloseFrame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded outgoing queue per web client, drained on its own thread.
+ * <p>
+ * Callers (often the main thread) only enqueue an already serialized frame. The drain thread hands up to
+ * {@code DRAIN_BATCH} frames per turn to the socket and backs off only while the socket's unsent bytes are
+ * above {@code max_buffered_bytes} (or a send failed), so a slow dashboard fills its own queue instead of
+ * memory or the tick, while a healthy one is drained at full speed. A frame with the same coalesce key as a
+ * still queued one drops that one and is queued at the tail, so the client only sees the newest state but
+ * never out of order. A client whose queue overflows is disconnected.
+ * <p>
+ * Clients on the MessagePack subprotocol get binary frames; every message is encoded at most once per
+ * format, however many clients receive it.
+ */
+public final class OutboundQueues {
+
+    public record Metrics(int clients, int queued, int maxDepth, long sent, long coalesced, long dropped, long slowDisconnects) { }
+
+    // Frames sent per drain turn before the thread moves on to the next client
+    private static final int DRAIN_BATCH = 64;
+
+    private final ScheduledExecutorService executor;
+    private final Logger log;
+    private final Gson gson = new Gson();
+    private final int capacity;
+    private final long retryMs;
+    private final long maxBufferedBytes;
+
+    private final Map<WebSocket, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong slowDisconnects = new AtomicLong();
+
+    public OutboundQueues(ConfigurationSection config, Logger log) {
+        this.log = log;
+        this.capacity = Math.max(1, config != null ? config.getInt("max_queued_frames", 256) : 256);
+        this.retryMs = Math.max(1, config != null ? config.getLong("busy_retry_ms", 50) : 50);
+        this.maxBufferedBytes = Math.max(1, config != null ? config.getLong("max_buffered_bytes", 262144) : 262144);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SolaceCore-WS-Out");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void open(WebSocket conn, boolean binary) {
+        outboxes.computeIfAbsent(conn, c -> new Outbox(c, binary));
+    }
+
+    public void close(WebSocket conn) {
+        Outbox outbox = outboxes.remove(conn);
+        if (outbox != null) {
+            dropped.addAndGet(outbox.clear());
+        }
+    }
+
+    public void send(WebSocket conn, JsonObject message) {
+        Outbox outbox = outboxes.get(conn);
+        if (outbox != null) {
+            outbox.offer(null, outbox.binary ? MsgPack.encode(message) : gson.toJson(message));
+        }
+    }
+
+    // coalesceKey may be null; the message is serialized on the caller thread, once per format in use
+    public void broadcast(String coalesceKey, JsonObject message) {
+        String text = null;
+        byte[] binary = null;
+        for (Outbox outbox : outboxes.values()) {
+            if (outbox.binary) {
+                binary = binary != null ? binary : MsgPack.encode(message);
+                outbox.offer(coalesceKey, binary);
+            } else {
+                text = text != null ? text : gson.toJson(message);
+                outbox.offer(coalesceKey, text);
+            }
+        }
+    }
+
+    public Metrics getMetrics() {
+        int queued = 0;
+        int maxDepth = 0;
+        for (Outbox outbox : outboxes.values()) {
+            int depth = outbox.depth();
+            queued += depth;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        return new Metrics(outboxes.size(), queued, maxDepth, sent.get(), coalesced.get(), dropped.get(), slowDisconnects.get());
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        outboxes.keySet().forEach(this::close);
+    }
+
+    private static final class Frame {
+
+        private final String key;
+        // String (text frame) or byte[] (binary frame)
+        private final Object payload;
+
+        private Frame(String key, Object payload) {
+            this.key = key;
+            this.payload = payload;
+        }
+    }
+
+    private final class Outbox implements Runnable {
+
+        private final WebSocket conn;
+        private final boolean binary;
+        private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+        private final Map<String, Frame> byKey = new HashMap<>();
+        private boolean scheduled;
+
+        private Outbox(WebSocket conn, boolean binary) {
+            this.conn = conn;
+            this.binary = binary;
+        }
+
+        void offer(String key, Object payload) {
+            boolean overflow = false;
+            synchronized (this) {
+                Frame queued = key != null ? byKey.remove(key) : null;
+                if (queued != null) {
+                    // The newer frame goes to the tail, so it still arrives after everything queued before it
+                    frames.remove(queued);
+                    coalesced.incrementAndGet();
+                }
+                if (frames.size() >= capacity) {
+                    overflow = true;
+                } else {
+                    Frame frame = new Frame(key, payload);
+                    frames.add(frame);
+                    if (key != null) {
+                        byKey.put(key, frame);
+                    }
+                    schedule(0);
+                }
+            }
+            if (overflow) {
+                disconnectSlow();
+            }
+        }
+
+        synchronized int depth() {
+            return frames.size();
+        }
+
+        synchronized int clear() {
+            int count = frames.size();
+            frames.clear();
+            byKey.clear();
+            return count;
+        }
+
+        // Caller holds the monitor
+        private void schedule(long delayMs) {
+            if (scheduled || executor.isShutdown()) {
+                return;
+            }
+            scheduled = true;
+            try {
+                executor.schedule(this, delayMs, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                scheduled = false;
+            }
+        }
+
+        private void disconnectSlow() {
+            if (outboxes.remove(conn) == null) {
+                return;
+            }
+            dropped.addAndGet(clear() + 1L);
+            slowDisconnects.incrementAndGet();
+            log.warning("Web client " + conn.getRemoteSocketAddress() + " fell " + capacity + " frames behind, disconnecting it.");
+            conn.close(CloseFrame.TRY_AGAIN_LATER, "Too slow");
+        }
+
+        // Bytes the socket has not written yet; WebSocketImpl (every real connection) exposes its queue
+        private long bufferedBytes() {
+            if (conn instanceof WebSocketImpl impl) {
+                long total = 0;
+                for (ByteBuffer buffer : impl.outQueue) {
+                    total += buffer.remaining();
+                }
+                return total;
+            }
+            return conn.hasBufferedData() ? maxBufferedBytes : 0;
+        }
+
+        @Override
+        public void run() {
+            // Counted once per turn, frames sent in this turn are added as they go
+            long buffered = bufferedBytes();
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Frame frame;
+                synchronized (this) {
+                    if (!conn.isOpen()) {
+                        scheduled = false;
+                        dropped.addAndGet(clear());
+                        return;
+                    }
+                    if (frames.isEmpty()) {
+                        scheduled = false;
+                        return;
+                    }
+                    // Socket far behind: wait instead of growing its buffer
+                    if (buffered >= maxBufferedBytes) {
+                        scheduled = false;
+                        schedule(retryMs);
+                        return;
+                    }
+                    frame = frames.poll();
+                    if (frame.key != null && byKey.get(frame.key) == frame) {
+                        byKey.remove(frame.key);
+                    }
+                }
+                try {
+                    if (frame.payload instanceof byte[] bytes) {
+                        conn.send(bytes);
+                        buffered += bytes.length;
+                    } else {
+                        String text = (String) frame.payload;
+                        conn.send(text);
+                        buffered += text.length();
+                    }
+                    sent.incrementAndGet();
+                } catch (Exception e) {
+                    dropped.incrementAndGet();
+                    log.log(Level.FINE, "Sending to web client failed", e);
+                    synchronized (this) {
+                        scheduled = false;
+                        if (!frames.isEmpty()) {
+                            schedule(retryMs);
+                        }
+                    }
+                    return;
+                }
+            }
+            synchronized (this) {
+                scheduled = false;
+                if (!frames.isEmpty()) {
+                    schedule(0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+-- Base tables and the indexes used by the active punishment lookups.
+-- Every statement is idempotent: servers that already have the tables only get the missing indexes.
+
+-- Tabulka players
+CREATE TABLE IF NOT EXISTS `players` (
+   `name` VARCHAR(16) NOT NULL,
+   `uuid` VARCHAR(36) UNIQUE,
+   `ipAddress` VARCHAR(45) DEFAULT NULL,
+   `lastLogin` DATETIME DEFAULT NULL,
+   PRIMARY KEY (`name`),
+   INDEX (`uuid`),
+   INDEX (`ipAddress`)
+);
+
+-- Tabulka punishments
+CREATE TABLE IF NOT EXISTS `punishments` (
+   `id` INT NOT NULL AUTO_INCREMENT,
+   `player_name` VARCHAR(16) NOT NULL,
+   `reason` VARCHAR(255) DEFAULT NULL,
+   `operator` VARCHAR(16) DEFAULT NULL,
+   `punishmentType` VARCHAR(16) DEFAULT NULL,
+   `start` DATETIME DEFAULT NULL,
+   `end` DATETIME DEFAULT NULL,
+   `duration` BIGINT DEFAULT NULL,
+   `isActive` BOOLEAN DEFAULT NULL,
+   PRIMARY KEY (`id`),
+   INDEX (`player_name`),
+   CONSTRAINT `fk_punishments_player_name` FOREIGN KEY (`player_name`) REFERENCES `players`(`name`) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Active lookups by player (+ type)
+-- solace:skip-if-index-exists punishments idx_punishments_player_active_type
+ALTER TABLE `punishments`
+   ADD INDEX `idx_punishments_player_active_type` (`player_name`, `isActive`, `punishmentType`),
+   ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Ban index load by type
+-- solace:skip-if-index-exists punishments idx_punishments_type_active
+ALTER TABLE `punishments`
+   ADD INDEX `idx_punishments_type_active` (`punishmentType`, `isActive`),
+   ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,12 @@
+-- Stored expiry instant, so expiry sweeps and active lookups are index range scans.
+-- Generated column: filled no matter who writes the row (plugin, web panel, manual SQL).
+-- Adding a STORED column rebuilds the table once; there is no in-place variant for it.
+
+-- solace:skip-if-column-exists punishments expires_at
+ALTER TABLE `punishments`
+   ADD COLUMN `expires_at` DATETIME AS (COALESCE(`end`, DATE_ADD(`start`, INTERVAL `duration` SECOND))) STORED;
+
+-- solace:skip-if-index-exists punishments idx_punishments_active_expires
+ALTER TABLE `punishments`
+   ADD INDEX `idx_punishments_active_expires` (`isActive`, `expires_at`),
+   ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,7 @@
+-- History pages (/warns) filter by player and type and walk (start, id) with a keyset cursor.
+-- InnoDB appends the primary key to secondary indexes, so id is covered without listing it.
+
+-- solace:skip-if-index-exists punishments idx_punishments_player_type_start
+ALTER TABLE `punishments`
+   ADD INDEX `idx_punishments_player_type_start` (`player_name`, `punishmentType`, `start`),
+   ALGORITHM=INPLACE, LOCK=NONE;